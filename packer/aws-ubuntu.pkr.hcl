@@ -114,7 +114,18 @@ build {
     ]
   }
 
-  # 7. 啟用 systemd service (不啟動，因為還沒有資料庫連線資訊)
+  # 7. 解開 jar 並產生 AppCDS archive（必須用 AMI 上的同一個 JDK；訓練執行只啟動到 context refresh，不連資料庫）
+  provisioner "shell" {
+    inline = [
+      "echo 'Creating AppCDS archive...'",
+      "cd /opt/csye6225",
+      "sudo -u csye6225 java -Djarmode=tools -jar webapp.jar extract --destination app",
+      "sudo -u csye6225 java -XX:ArchiveClassesAtExit=app/webapp.jsa -Dspring.context.exit=onRefresh -Dspring.profiles.active=cds-training -jar app/webapp.jar",
+      "ls -lh app/webapp.jsa"
+    ]
+  }
+
+  # 8. 啟用 systemd service (不啟動，因為還沒有資料庫連線資訊)
   provisioner "shell" {
     inline = [
       "echo 'Enabling systemd service...'",
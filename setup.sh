@@ -244,6 +244,7 @@ echo "====================================================================="
 # DB_NAME=csye6225_db
 # DB_USER=csye6225
 # DB_PASSWORD=csye6225_password
+# TOKEN_SECRET=<至少 32 bytes，所有 instance 相同>
 #
 # ===================================================================
 # 7.6 設定目錄擁有者
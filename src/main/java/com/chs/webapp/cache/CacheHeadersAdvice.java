@@ -0,0 +1,104 @@
+package com.chs.webapp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 依 http-cache.routes 為公開讀取的成功回應加上 Cache-Control / Surrogate-Key
+ * 在寫出 body 前執行，此時 status 已確定、header 尚未送出
+ */
+@ControllerAdvice
+@Slf4j
+public class CacheHeadersAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String SURROGATE_KEY = "Surrogate-Key";
+    private static final String SURROGATE_CONTROL = "Surrogate-Control";
+    private static final List<String> VARY_HEADERS = List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT);
+
+    private final HttpCacheProperties properties;
+    private final List<CompiledRoute> routes;
+
+    public CacheHeadersAdvice(HttpCacheProperties properties) {
+        this.properties = properties;
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(PathPatternParser.defaultInstance.parse(route.getPattern()), route))
+                .toList();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!HttpMethod.GET.equals(request.getMethod()) && !HttpMethod.HEAD.equals(request.getMethod())) {
+            return body;
+        }
+        if (!(response instanceof ServletServerHttpResponse servletResponse)
+                || servletResponse.getServletResponse().getStatus() / 100 != 2) {
+            return body;
+        }
+
+        PathContainer path = PathContainer.parsePath(request.getURI().getRawPath());
+        for (CompiledRoute route : routes) {
+            PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(path);
+            if (match != null) {
+                applyHeaders(route.route(), match.getUriVariables(), request, response.getHeaders());
+                break;
+            }
+        }
+        return body;
+    }
+
+    private void applyHeaders(HttpCacheProperties.Route route, Map<String, String> variables,
+                              ServerHttpRequest request, HttpHeaders headers) {
+        // 同一個 URL 依是否帶 Authorization 會有不同的快取策略、依 Accept 有 JSON / CBOR / Smile，共用快取必須把它們納入 key
+        for (String header : VARY_HEADERS) {
+            if (!headers.getVary().contains(header)) {
+                headers.add(HttpHeaders.VARY, header);
+            }
+        }
+
+        if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            headers.setCacheControl(properties.getAuthenticatedCacheControl());
+            return;
+        }
+
+        headers.setCacheControl(route.getCacheControl());
+        if (route.getSurrogateControl() != null && !route.getSurrogateControl().isBlank()) {
+            headers.set(SURROGATE_CONTROL, route.getSurrogateControl());
+        }
+        if (route.getSurrogateKeys() != null && !route.getSurrogateKeys().isBlank()) {
+            headers.set(SURROGATE_KEY, expand(route.getSurrogateKeys(), variables));
+        }
+    }
+
+    private static String expand(String template, Map<String, String> variables) {
+        String result = template;
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            result = result.replace("{" + variable.getKey() + "}", SurrogateKeys.routeVariable(variable.getKey(), variable.getValue()));
+        }
+        return result;
+    }
+
+    private record CompiledRoute(PathPattern pattern, HttpCacheProperties.Route route) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.chs.webapp.cache;
+
+import com.chs.webapp.event.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 產品異動 commit 後，purge 受影響的 surrogate key
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CdnPurgeListener {
+
+    private final CdnPurgeSink purgeSink;
+    private final HttpCacheProperties properties;
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(SurrogateKeys.PRODUCT_LIST);
+        keys.add(SurrogateKeys.sku(event.sku()));
+        if (event.type() != ProductChangedEvent.ChangeType.CREATED) {
+            keys.add(SurrogateKeys.product(event.productId()));
+        }
+        if (event.previousSku() != null) {
+            keys.add(SurrogateKeys.sku(event.previousSku()));
+        }
+
+        // 資料已 commit，purge 失敗只影響快取新鮮度（由 max-age 兜底），不影響請求結果
+        try {
+            purgeSink.purge(keys);
+        } catch (RuntimeException e) {
+            log.error("CDN purge failed for keys {}", keys, e);
+        }
+    }
+}
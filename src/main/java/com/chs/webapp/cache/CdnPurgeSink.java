@@ -0,0 +1,11 @@
+package com.chs.webapp.cache;
+
+import java.util.Set;
+
+/**
+ * CDN purge 的輸出端 - 依 surrogate key 讓 CDN 上的快取失效
+ */
+public interface CdnPurgeSink {
+
+    void purge(Set<String> surrogateKeys);
+}
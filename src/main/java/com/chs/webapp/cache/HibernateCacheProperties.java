@@ -0,0 +1,35 @@
+package com.chs.webapp.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level / query cache 的 region 設定 - 對應 application.properties 中的 hibernate-cache.*
+ * 快取只在本機：其他 instance 的寫入不會讓這裡失效，time-to-live 就是跨 instance 最多讀到舊資料的時間
+ */
+@Component
+@ConfigurationProperties(prefix = "hibernate-cache")
+@Data
+public class HibernateCacheProperties {
+
+    // region 名稱 -> 設定；entity 的 @Cache(region) 與 repository 的 cacheRegion hint 都要在這裡列出
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        // heap 上最多保留的筆數
+        private long heapEntries = 10_000;
+
+        // 超過 heap 的部分移到 off-heap（需要序列化）；0 代表只用 heap
+        private DataSize offHeap = DataSize.ofBytes(0);
+
+        private Duration timeToLive = Duration.ofSeconds(60);
+    }
+}
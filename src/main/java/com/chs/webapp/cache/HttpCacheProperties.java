@@ -0,0 +1,44 @@
+package com.chs.webapp.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP / CDN 快取標頭設定 - 對應 application.properties 中的 http-cache.*
+ */
+@Component
+@ConfigurationProperties(prefix = "http-cache")
+@Data
+public class HttpCacheProperties {
+
+    private boolean enabled = true;
+
+    // purge 輸出端，預設 local（只記錄 log）
+    private String purgeSink = "local";
+
+    // 帶 Authorization 的請求一律使用這個值，避免共用快取存下個人化的回應
+    private String authenticatedCacheControl = "private, no-cache";
+
+    // 依序比對，第一個符合的規則生效；只套用在匿名的 GET / HEAD 成功回應
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        // Spring PathPattern，例如 /v1/product/{id}
+        private String pattern;
+        // 給瀏覽器與 CDN 的 Cache-Control
+        private String cacheControl;
+        // 只給 CDN 的 Surrogate-Control（CDN 會移除，不會傳給瀏覽器），可留空
+        private String surrogateControl;
+        // 以空白分隔的 surrogate key，可使用 pattern 中的變數，例如 product-{id}
+        private String surrogateKeys;
+    }
+}
@@ -0,0 +1,39 @@
+package com.chs.webapp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * 本機 / 測試用的 purge sink：只記錄 log 並保留最近的 purge 紀錄
+ * 串接實際 CDN 時設定 http-cache.purge-sink 為其他值並提供對應的 CdnPurgeSink bean
+ */
+@Component
+@ConditionalOnProperty(name = "http-cache.purge-sink", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalCdnPurgeSink implements CdnPurgeSink {
+
+    private static final int MAX_RECORDED = 1_000;
+
+    private final Deque<Set<String>> recent = new ConcurrentLinkedDeque<>();
+
+    @Override
+    public void purge(Set<String> surrogateKeys) {
+        log.info("CDN purge requested: {}", surrogateKeys);
+
+        recent.addLast(Set.copyOf(surrogateKeys));
+        while (recent.size() > MAX_RECORDED) {
+            recent.pollFirst();
+        }
+    }
+
+    public List<Set<String>> recentPurges() {
+        return new ArrayList<>(recent);
+    }
+}
@@ -0,0 +1,50 @@
+package com.chs.webapp.cache;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Surrogate key 命名 - 回應標頭與 purge 必須使用相同的規則
+ */
+public final class SurrogateKeys {
+
+    // 所有產品列表 / 搜尋結果
+    public static final String PRODUCT_LIST = "products";
+
+    // http-cache.routes 中代表產品 id 的 pattern 變數
+    private static final String ID_VARIABLE = "id";
+
+    private SurrogateKeys() {
+    }
+
+    public static String product(UUID productId) {
+        return "product-" + productId;
+    }
+
+    public static String sku(String sku) {
+        return "sku-" + escape(sku);
+    }
+
+    /**
+     * 展開 http-cache.routes 的 pattern 變數：{id} 以 UUID 的標準寫法（小寫）展開，與 product(UUID) 相同
+     * 路徑中的 UUID 可以是大寫（UUID.fromString 接受，回應 200），不正規化的話 purge 清不到那份快取
+     */
+    static String routeVariable(String name, String value) {
+        if (ID_VARIABLE.equals(name)) {
+            try {
+                return UUID.fromString(value).toString();
+            } catch (IllegalArgumentException e) {
+                return escape(value);
+            }
+        }
+        return escape(value);
+    }
+
+    /**
+     * Surrogate-Key 以空白分隔，變數值需編碼避免被拆開
+     */
+    static String escape(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -1,11 +1,26 @@
 package com.chs.webapp.config;
 
+import com.chs.webapp.storage.S3ClientProperties;
+import com.chs.webapp.tracing.S3ObservationInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.InstanceProfileCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.EqualJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
 
 @Configuration
 public class AwsConfig {
@@ -14,10 +29,57 @@ public class AwsConfig {
     private String awsRegion;
 
     @Bean
-    public S3Client s3Client() {
-        return S3Client.builder()
+    public S3Client s3Client(S3ClientProperties properties, ObjectProvider<ObservationRegistry> observationRegistry) {
+        ClientOverrideConfiguration.Builder overrides = ClientOverrideConfiguration.builder()
+                .retryPolicy(retryPolicy(properties.getRetry()))
+                .addExecutionInterceptor(new S3ObservationInterceptor(
+                        () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+        if (properties.getApiCallAttemptTimeout() != null) {
+            overrides.apiCallAttemptTimeout(properties.getApiCallAttemptTimeout());
+        }
+
+        S3ClientBuilder builder = S3Client.builder()
                 .region(Region.of(awsRegion))
-                .credentialsProvider(InstanceProfileCredentialsProvider.create())
+                .credentialsProvider(credentialsProvider(properties.getCredentials()))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(properties.isPathStyleAccess())
+                        .build())
+                .overrideConfiguration(overrides.build());
+        // S3_ENDPOINT 未設定時是空字串
+        if (properties.getEndpoint() != null && !properties.getEndpoint().toString().isEmpty()) {
+            builder.endpointOverride(properties.getEndpoint());
+        }
+        return builder.build();
+    }
+
+    private static AwsCredentialsProvider credentialsProvider(S3ClientProperties.Credentials credentials) {
+        return switch (credentials.getProvider()) {
+            case INSTANCE_PROFILE -> InstanceProfileCredentialsProvider.create();
+            case DEFAULT -> DefaultCredentialsProvider.create();
+            case STATIC -> {
+                if (credentials.getAccessKeyId() == null || credentials.getSecretAccessKey() == null) {
+                    throw new IllegalStateException("aws.s3.credentials.access-key-id and secret-access-key are required for the static provider");
+                }
+                yield StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(credentials.getAccessKeyId(), credentials.getSecretAccessKey()));
+            }
+        };
+    }
+
+    /**
+     * Standard retry mode（含 retry token bucket），退避參數可調整；SlowDown 等節流錯誤使用較長的基準
+     */
+    private static RetryPolicy retryPolicy(S3ClientProperties.Retry retry) {
+        return RetryPolicy.builder(RetryMode.STANDARD)
+                .numRetries(Math.max(0, retry.getMaxAttempts() - 1))
+                .backoffStrategy(FullJitterBackoffStrategy.builder()
+                        .baseDelay(retry.getBaseDelay())
+                        .maxBackoffTime(retry.getMaxBackoff())
+                        .build())
+                .throttlingBackoffStrategy(EqualJitterBackoffStrategy.builder()
+                        .baseDelay(retry.getThrottlingBaseDelay())
+                        .maxBackoffTime(retry.getMaxBackoff())
+                        .build())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.chs.webapp.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * LocalDateTime 序列化：輸出與 ISO_LOCAL_DATE_TIME 相同（例如 2025-01-31T08:05:09.12），
+ * 但不經過 DateTimeFormatter，且每個執行緒快取最近一次的日期字串（列表中多筆資料通常同一天）
+ * 一律輸出字串，對應 Spring Boot 預設關閉的 WRITE_DATES_AS_TIMESTAMPS
+ */
+public class CachedLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    public CachedLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // ISO 格式在這個範圍外需要正負號，少見，交給 DateTimeFormatter
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        Buffer buffer = BUFFER.get();
+        char[] chars = buffer.chars;
+        int epochDay = (int) value.toLocalDate().toEpochDay();
+        if (epochDay != buffer.epochDay) {
+            writeDigits(chars, 0, year, 4);
+            chars[4] = '-';
+            writeDigits(chars, 5, value.getMonthValue(), 2);
+            chars[7] = '-';
+            writeDigits(chars, 8, value.getDayOfMonth(), 2);
+            chars[10] = 'T';
+            buffer.epochDay = epochDay;
+        }
+
+        writeDigits(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, value.getSecond(), 2);
+
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            // 與 ISO_LOCAL_DATE_TIME 一致：小數部分去掉結尾的 0
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            chars[length++] = '.';
+            writeDigits(chars, length, nano, digits);
+            length += digits;
+        }
+
+        gen.writeString(chars, 0, length);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static final class Buffer {
+        // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn，前 11 個字元（日期）在同一天內重複使用
+        private final char[] chars = new char[29];
+        private int epochDay = Integer.MIN_VALUE;
+    }
+}
@@ -93,6 +93,8 @@ public class GlobalExceptionHandler {
 
         if (lowerMessage.contains("not found")) {
             return HttpStatus.NOT_FOUND;
+        } else if (lowerMessage.startsWith("invalid token")) {
+            return HttpStatus.UNAUTHORIZED;
         } else if (lowerMessage.contains("access denied") ||
                 lowerMessage.contains("can only update their own") ||
                 lowerMessage.contains("can only view their own")) {
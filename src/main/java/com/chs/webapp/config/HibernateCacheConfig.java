@@ -0,0 +1,68 @@
+package com.chs.webapp.config;
+
+import com.chs.webapp.cache.HibernateCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level / query cache 使用的 JCache CacheManager（Ehcache 3）
+ * region 依 HibernateCacheProperties 建立，設定外的 region 直接啟動失敗，避免無上限的預設快取
+ */
+@Configuration
+@Slf4j
+public class HibernateCacheConfig {
+
+    // 記錄每個資料表最後異動時間，用來判斷 query cache 是否過期；不能比 query cache 先被淘汰
+    private static final long UPDATE_TIMESTAMPS_ENTRIES = 1_000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        // 每個 application context 各自一個 CacheManager（測試中多個 context 不共用快取）
+        // 傳入 Configuration 時 URI 只是識別名稱；只傳 ClassLoader 的版本會把 URI 當成 XML 設定檔的 URL
+        CacheManager cacheManager = new EhcacheCachingProvider().getCacheManager(
+                URI.create("urn:webapp:hibernate-cache:" + UUID.randomUUID()),
+                new DefaultConfiguration(getClass().getClassLoader()));
+
+        properties.getRegions().forEach((name, region) -> {
+            ResourcePoolsBuilder pools = ResourcePoolsBuilder.heap(region.getHeapEntries());
+            if (region.getOffHeap().toMegabytes() > 0) {
+                pools = pools.offheap(region.getOffHeap().toMegabytes(), MemoryUnit.MB);
+            }
+            cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder.newCacheConfigurationBuilder(Serializable.class, Serializable.class, pools)
+                            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive()))));
+            log.info("Hibernate cache region {}: heap={} entries, off-heap={}, ttl={}",
+                    name, region.getHeapEntries(), region.getOffHeap(), region.getTimeToLive());
+        });
+
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                        CacheConfigurationBuilder.newCacheConfigurationBuilder(Serializable.class, Serializable.class,
+                                ResourcePoolsBuilder.heap(UPDATE_TIMESTAMPS_ENTRIES))));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.chs.webapp.config;
+
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 取代 JavaTimeModule 預設的 LocalDateTime 序列化（列表回應中每筆都有兩個時間欄位）
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer cachedDateTimeSerializer() {
+        return builder -> builder.serializerByType(LocalDateTime.class, new CachedLocalDateTimeSerializer());
+    }
+
+    /**
+     * Accept: application/cbor - 與 JSON 使用相同的 DTO 與 Jackson 設定
+     * Spring MVC 預設的 CBOR / Smile converter 不套用 spring.jackson.* 與 customizer，因此以 Boot 的 builder 建立並取代
+     * JSON converter 排在前面，沒有指定 Accept 時仍回傳 JSON
+     * UUID 在二進位格式預設寫成 16 bytes，這裡改寫成字串，與 JSON 的欄位型別一致
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory())
+                .serializerByType(UUID.class, ToStringSerializer.instance)
+                .build());
+    }
+
+    /**
+     * Accept: application/x-jackson-smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory())
+                .serializerByType(UUID.class, ToStringSerializer.instance)
+                .build());
+    }
+}
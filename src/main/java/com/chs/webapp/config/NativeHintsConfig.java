@@ -0,0 +1,35 @@
+package com.chs.webapp.config;
+
+import com.chs.webapp.dto.ChangeFeedResponse;
+import com.chs.webapp.dto.ImagePage;
+import com.chs.webapp.dto.ImageResponse;
+import com.chs.webapp.dto.ProductBatchGetRequest;
+import com.chs.webapp.dto.ProductBatchGetResponse;
+import com.chs.webapp.dto.ProductCreateRequest;
+import com.chs.webapp.dto.ProductResponse;
+import com.chs.webapp.dto.ProductSearchResponse;
+import com.chs.webapp.dto.ProductUpdateRequest;
+import com.chs.webapp.dto.TokenRefreshRequest;
+import com.chs.webapp.dto.TokenResponse;
+import com.chs.webapp.dto.UserCreateRequest;
+import com.chs.webapp.dto.UserResponse;
+import com.chs.webapp.dto.UserUpdateRequest;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Native image：Jackson 序列化的 DTO（巢狀型別如 ProductImageSummary、ProductBatchGetResponse.Item 會一併註冊）
+ * 與 WebappRuntimeHints 中的其他 hints
+ */
+@Configuration
+@ImportRuntimeHints(WebappRuntimeHints.class)
+@RegisterReflectionForBinding({
+        ProductCreateRequest.class, ProductUpdateRequest.class, ProductBatchGetRequest.class,
+        ProductResponse.class, ProductBatchGetResponse.class, ProductSearchResponse.class,
+        ImagePage.class, ImageResponse.class, ChangeFeedResponse.class,
+        UserCreateRequest.class, UserUpdateRequest.class, UserResponse.class,
+        TokenRefreshRequest.class, TokenResponse.class
+})
+public class NativeHintsConfig {
+}
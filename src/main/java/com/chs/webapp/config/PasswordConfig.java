@@ -1,18 +1,43 @@
 package com.chs.webapp.config;
 
+import com.chs.webapp.security.PasswordProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
+@RequiredArgsConstructor
 public class PasswordConfig {
 
+    private final PasswordProperties passwordProperties;
+
     /**
      * 密碼編碼器 Bean - 獨立配置避免循環依賴
+     * 新雜湊以 {id} 前綴儲存（例如 {bcrypt}$2a$12$...），舊資料沒有前綴則視為 bcrypt
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(passwordProperties.getBcryptStrength()));
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder("", 16, passwordProperties.getPbkdf2Iterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, passwordProperties.getArgon2Parallelism(),
+                passwordProperties.getArgon2MemoryKb(), passwordProperties.getArgon2Iterations()));
+
+        if (!encoders.containsKey(passwordProperties.getAlgorithm())) {
+            throw new IllegalStateException("Unsupported password algorithm: " + passwordProperties.getAlgorithm());
+        }
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(passwordProperties.getAlgorithm(), encoders);
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return delegatingEncoder;
     }
 }
@@ -0,0 +1,82 @@
+package com.chs.webapp.config;
+
+import com.chs.webapp.datasource.ReadYourWritesTracker;
+import com.chs.webapp.datasource.ReplicaRoutingDataSource;
+import com.chs.webapp.datasource.ReplicaRoutingProperties;
+import com.chs.webapp.datasource.ReplicaRoutingProperties.Replica;
+import com.chs.webapp.datasource.ReplicaTarget;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica：replica-routing.enabled=true 時取代 Spring Boot 自動建立的 DataSource
+ * primary 仍使用 spring.datasource.*，replica 使用 replica-routing.replicas[n].*
+ * 兩者都套用 spring.datasource.hikari.*（與 Spring Boot 自動建立的 pool 相同），replica 再覆寫連線位址、帳號與唯讀設定
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica-routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaRoutingProperties properties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        bindHikariProperties(binder, primary);
+        primary.setPoolName("primary");
+
+        List<ReplicaTarget> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            bindHikariProperties(binder, pool);
+            replicas.add(new ReplicaTarget("replica-" + i, configureReplicaPool(pool, i, properties.getReplicas().get(i),
+                    dataSourceProperties, properties)));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker);
+    }
+
+    /**
+     * JPA / JdbcTemplate 使用的 DataSource：第一個 statement 執行時才向 ReplicaRoutingDataSource 取得連線，此時交易的唯讀屬性已確定
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * 與 DataSourceConfiguration.Hikari 的 @ConfigurationProperties("spring.datasource.hikari") 相同
+     */
+    private static void bindHikariProperties(Binder binder, HikariDataSource pool) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+    }
+
+    private static HikariDataSource configureReplicaPool(HikariDataSource pool, int index, Replica replica,
+                                                         DataSourceProperties primary,
+                                                         ReplicaRoutingProperties properties) {
+        pool.setPoolName("replica-" + index);
+        pool.setDriverClassName(primary.determineDriverClassName());
+        pool.setJdbcUrl(replica.getUrl());
+        pool.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername());
+        pool.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword());
+        pool.setReadOnly(true);
+        pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        return pool;
+    }
+}
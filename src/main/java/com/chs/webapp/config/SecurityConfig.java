@@ -1,5 +1,12 @@
 package com.chs.webapp.config;
 
+import com.chs.webapp.security.AuthenticatedUser;
+import com.chs.webapp.security.RateLimitFilter;
+import com.chs.webapp.security.RateLimitProperties;
+import com.chs.webapp.security.RateLimiter;
+import com.chs.webapp.security.TokenAuthenticationFilter;
+import com.chs.webapp.security.UserLookupCache;
+import com.chs.webapp.service.TokenService;
 import com.chs.webapp.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -11,8 +18,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -20,6 +30,10 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final UserService userService;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final TokenService tokenService;
+    private final UserLookupCache userLookupCache;
 
     /**
      * 定義安全過濾鏈 - 這是 Spring Security 6.x 的現代寫法
@@ -39,12 +53,21 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v1/user").permitAll()    // POST 註冊不需認證
                         .requestMatchers("/health").permitAll()     // 健康檢查不需認證
+                        .requestMatchers(HttpMethod.POST, "/v1/auth/refresh").permitAll()  // refresh token 本身即為憑證
                         .requestMatchers(HttpMethod.GET, "/v1/product").permitAll()     // 獲取所有產品不需認證
                         .requestMatchers(HttpMethod.GET, "/v1/product/*").permitAll()   // 獲取單個產品不需認證
+                        .requestMatchers(HttpMethod.GET, "/v1/product/sku/*").permitAll()   // 以 SKU 獲取產品不需認證
+                        .requestMatchers(HttpMethod.POST, "/v1/product/batch-get").permitAll()   // 批次獲取產品不需認證（唯讀）
                         .anyRequest().authenticated()               // 其他請求需要認證
                 )
 
-                // 啟用 HTTP Basic Authentication
+                // Bearer token 認證（驗簽章與快取中的密碼版本，不跑 bcrypt）- 先執行，速率限制才能依已驗證的 email 計算
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+
+                // 速率限制 - 必須在 Basic 認證（bcrypt）之前執行
+                .addFilterBefore(new RateLimitFilter(rateLimiter, rateLimitProperties), BasicAuthenticationFilter.class)
+
+                // 啟用 HTTP Basic Authentication（保留相容性，也用於 POST /v1/auth/token 換取 token）
                 .httpBasic(httpBasic -> httpBasic.realmName("webapp"))
 
                 .build();
@@ -53,18 +76,25 @@ public class SecurityConfig {
     /**
      * 用戶詳細服務 - 告訴 Spring Security 如何載入用戶資料
      * 現代寫法：直接返回 lambda 函數，不需要 DaoAuthenticationProvider
+     * 透過短 TTL 快取查詢，principal 帶有 user id，後續 Service 不需再查 users
      */
     @Bean
     public UserDetailsService userDetailsService() {
-        return email -> {
-            var user = userService.findByEmail(email);
+        return email -> userLookupCache.find(email)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+
+    /**
+     * 密碼升級服務 - 登入成功且雜湊參數已變更（演算法或 work factor）時，Spring Security 會以新參數重新雜湊並呼叫此方法
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newEncodedPassword) -> {
+            userService.rehashPassword(userDetails.getUsername(), newEncodedPassword);
 
-            // 轉換為 Spring Security 的 UserDetails
-            return org.springframework.security.core.userdetails.User.builder()
-                    .username(user.getEmail())
-                    .password(user.getPassword())  // 已經是雜湊過的密碼
-                    .authorities("ROLE_USER")      // 設定權限
-                    .build();
+            AuthenticatedUser user = (AuthenticatedUser) userDetails;
+            return new AuthenticatedUser(user.getId(), user.getEmail(), newEncodedPassword);
         };
     }
 
@@ -0,0 +1,34 @@
+package com.chs.webapp.config;
+
+import com.chs.webapp.datasource.DataSourceProxyPostProcessor;
+import com.chs.webapp.datasource.QueryBudgetInterceptor;
+import com.chs.webapp.datasource.SqlStatementListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * SQL 監控：DataSource 以 datasource-proxy 包裝，SqlStatementFilter 依請求統計，QueryBudgetInterceptor 檢查 @QueryBudget
+ * sql-monitor.enabled=false 時完全不包裝 DataSource
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sql-monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SqlMonitorConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Bean
+    public static DataSourceProxyPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SqlStatementListener> listener) {
+        return new DataSourceProxyPostProcessor(listener);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+    }
+}
@@ -0,0 +1,21 @@
+package com.chs.webapp.config;
+
+import com.chs.webapp.tracing.RepositoryObservationPostProcessor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing：HTTP 請求與 Spring Security filter chain / 認證由 Spring Boot 與 Spring Security 自動建立 span，
+ * 這裡補上 repository 呼叫；S3 操作由 AwsConfig 註冊的 S3ObservationInterceptor 負責
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static RepositoryObservationPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new RepositoryObservationPostProcessor(observationRegistry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.chs.webapp.config;
+
+import com.chs.webapp.dto.ChangeEventResponse;
+import com.chs.webapp.dto.ImageResponse;
+import com.chs.webapp.entity.ChangeEvent;
+import com.chs.webapp.entity.ChangeLogOffset;
+import com.chs.webapp.entity.Image;
+import com.chs.webapp.entity.Product;
+import com.chs.webapp.entity.RefreshTokenFamily;
+import com.chs.webapp.entity.User;
+import com.chs.webapp.logging.SampledRequestTurboFilter;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GraalVM native image 需要的 reachability hints（Spring AOT 建置時套用，JVM 執行時不影響）
+ * controller 回傳 ResponseEntity<?> 時 Spring 推不出 DTO 型別，DTO 另外在 NativeHintsConfig 以 @RegisterReflectionForBinding 註冊
+ */
+public class WebappRuntimeHints implements RuntimeHintsRegistrar {
+
+    // AWS SDK 依這些資源檔中的類別名稱以反射建立 ExecutionInterceptor
+    private static final List<String> AWS_INTERCEPTOR_RESOURCES = List.of(
+            "software/amazon/awssdk/global/handlers/execution.interceptors",
+            "software/amazon/awssdk/services/s3/execution.interceptors");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerEntities(hints);
+        registerAwsSdk(hints, classLoader);
+        registerDataSourceProxy(hints);
+        registerLogging(hints);
+    }
+
+    private static void registerEntities(RuntimeHints hints) {
+        for (Class<?> entity : List.of(User.class, Product.class, Image.class, ChangeEvent.class, ChangeLogOffset.class,
+                RefreshTokenFamily.class)) {
+            hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        // hibernate.cache.region.factory_class=jcache 以名稱解析
+        hints.reflection().registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // JPQL 的 select new ...（Hibernate 以反射呼叫建構子）
+        for (Class<?> projection : List.of(ImageResponse.class, ChangeEventResponse.class)) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+    }
+
+    private static void registerAwsSdk(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("software/amazon/awssdk/**/execution.interceptors");
+        hints.resources().registerPattern("software/amazon/awssdk/**/*.json");
+        hints.resources().registerPattern("META-INF/services/software.amazon.awssdk.*");
+
+        for (String resource : AWS_INTERCEPTOR_RESOURCES) {
+            for (String className : readClassNames(classLoader, resource)) {
+                hints.reflection().registerType(TypeReference.of(className), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+        }
+        // S3Service 注入的 @Lazy S3Client 是 JDK proxy
+        hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(S3Client.class));
+    }
+
+    /**
+     * datasource-proxy 以 JDK dynamic proxy 包裝 JDBC 物件；native image 的 proxy 介面順序必須完全一致，兩種順序都註冊
+     */
+    private static void registerDataSourceProxy(RuntimeHints hints) {
+        for (Class<?> jdbcType : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+            hints.proxies().registerJdkProxy(jdbcType, ProxyJdbcObject.class);
+        }
+    }
+
+    /**
+     * logback-spring.xml 以類別名稱建立的元件
+     */
+    private static void registerLogging(RuntimeHints hints) {
+        hints.reflection().registerType(SampledRequestTurboFilter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(StructuredLogEncoder.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+
+    private static List<String> readClassNames(ClassLoader classLoader, String resource) {
+        try {
+            List<String> classNames = new ArrayList<>();
+            for (URL url : Collections.list(classLoader.getResources(resource))) {
+                try (InputStream in = url.openStream();
+                     BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                    reader.lines()
+                            .map(String::trim)
+                            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                            .forEach(classNames::add);
+                }
+            }
+            return classNames;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
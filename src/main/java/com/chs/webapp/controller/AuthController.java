@@ -0,0 +1,46 @@
+package com.chs.webapp.controller;
+
+import com.chs.webapp.dto.TokenRefreshRequest;
+import com.chs.webapp.dto.TokenResponse;
+import com.chs.webapp.service.TokenService;
+import com.chs.webapp.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/auth")
+@RequiredArgsConstructor
+@Slf4j
+public class AuthController {
+
+    private final TokenService tokenService;
+    private final UserService userService;
+
+    /**
+     * 以 HTTP Basic 帳密換取 access / refresh token
+     * POST /v1/auth/token
+     */
+    @PostMapping("/token")
+    public ResponseEntity<?> issueToken(Authentication authentication) {
+        log.info("Issuing token for user");
+
+        TokenResponse tokenResponse = tokenService.issueTokenPair(userService.findByEmail(authentication.getName()));
+        return ResponseEntity.ok(tokenResponse);
+    }
+
+    /**
+     * 以 refresh token 換發新的 token pair
+     * POST /v1/auth/refresh
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        log.info("Refreshing token");
+
+        TokenResponse tokenResponse = tokenService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(tokenResponse);
+    }
+}
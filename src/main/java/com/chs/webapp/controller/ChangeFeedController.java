@@ -0,0 +1,37 @@
+package com.chs.webapp.controller;
+
+import com.chs.webapp.datasource.QueryBudget;
+import com.chs.webapp.dto.ChangeFeedResponse;
+import com.chs.webapp.security.AuthenticatedUser;
+import com.chs.webapp.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/changes")
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * 讀取目前使用者產品 / 圖片的異動（搜尋索引、分析用）
+     * GET /v1/changes?after=0&limit=100
+     */
+    @GetMapping
+    @QueryBudget(1)
+    public ResponseEntity<ChangeFeedResponse> readChanges(@RequestParam(defaultValue = "0") long after,
+                                                          @RequestParam(defaultValue = "100") int limit,
+                                                          @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        log.debug("Reading change feed for user {} after offset {}", currentUser.getId(), after);
+
+        return ResponseEntity.ok(changeFeedService.read(currentUser.getId(), after, limit));
+    }
+}
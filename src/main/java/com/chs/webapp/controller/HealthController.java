@@ -1,5 +1,9 @@
 package com.chs.webapp.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -7,10 +11,23 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.Map;
 
 @RestController
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final ApplicationAvailability applicationAvailability;
+
+    /**
+     * readiness 不是 ACCEPTING_TRAFFIC 時（啟動完成前、關閉流程開始後）回 503，
+     * 讓 load balancer 在程序停止接受連線前就不再轉送請求
+     */
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "status", "OUT_OF_SERVICE",
+                    "message", "Application is not accepting traffic"
+            ));
+        }
         return ResponseEntity.ok(Map.of(
                 "status", "OK",
                 "message", "Application is running"
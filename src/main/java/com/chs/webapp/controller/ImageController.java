@@ -1,12 +1,15 @@
 package com.chs.webapp.controller;
 
+import com.chs.webapp.datasource.QueryBudget;
+import com.chs.webapp.dto.ImagePage;
 import com.chs.webapp.dto.ImageResponse;
+import com.chs.webapp.security.AuthenticatedUser;
 import com.chs.webapp.service.ImageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -19,6 +22,8 @@ import java.util.UUID;
 @Slf4j
 public class ImageController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ImageService imageService;
 
     /**
@@ -26,29 +31,39 @@ public class ImageController {
      * POST /v1/product/{productId}/image
      */
     @PostMapping
+    @QueryBudget(2)
     public ResponseEntity<ImageResponse> uploadImage(
             @PathVariable UUID productId,
             @RequestParam("file") MultipartFile file,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
         log.info("Uploading image to product: {}", productId);
 
-        String authenticatedEmail = authentication.getName();
-        ImageResponse response = imageService.uploadImage(productId, file, authenticatedEmail);
+        ImageResponse response = imageService.uploadImage(productId, file, currentUser.getId());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
-     * 取得產品的所有圖片
-     * GET /v1/product/{productId}/image
+     * 取得產品的圖片（依上傳時間排序，分頁）
+     * GET /v1/product/{productId}/image?limit=&cursor=
+     * 還有下一頁時以 X-Next-Cursor header 回傳下一頁的 cursor
      */
     @GetMapping
-    public ResponseEntity<List<ImageResponse>> getProductImages(@PathVariable UUID productId) {
+    @QueryBudget(2)
+    public ResponseEntity<List<ImageResponse>> getProductImages(
+            @PathVariable UUID productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
         log.info("Getting images for product: {}", productId);
 
-        List<ImageResponse> images = imageService.getProductImages(productId);
-        return ResponseEntity.ok(images);
+        ImagePage page = imageService.getProductImages(productId, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     /**
@@ -56,6 +71,7 @@ public class ImageController {
      * GET /v1/product/{productId}/image/{imageId}
      */
     @GetMapping("/{imageId}")
+    @QueryBudget(2)
     public ResponseEntity<ImageResponse> getImageById(
             @PathVariable UUID productId,
             @PathVariable UUID imageId) {
@@ -71,15 +87,15 @@ public class ImageController {
      * DELETE /v1/product/{productId}/image/{imageId}
      */
     @DeleteMapping("/{imageId}")
+    @QueryBudget(2)
     public ResponseEntity<Void> deleteImage(
             @PathVariable UUID productId,
             @PathVariable UUID imageId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
         log.info("Deleting image: imageId={}, productId={}", imageId, productId);
 
-        String authenticatedEmail = authentication.getName();
-        imageService.deleteImage(productId, imageId, authenticatedEmail);
+        imageService.deleteImage(productId, imageId, currentUser.getId());
 
         return ResponseEntity.noContent().build();
     }
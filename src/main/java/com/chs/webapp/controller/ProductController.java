@@ -1,18 +1,23 @@
 package com.chs.webapp.controller;
 
+import com.chs.webapp.datasource.QueryBudget;
+import com.chs.webapp.dto.ProductBatchGetRequest;
+import com.chs.webapp.dto.ProductBatchGetResponse;
 import com.chs.webapp.dto.ProductCreateRequest;
 import com.chs.webapp.dto.ProductResponse;
+import com.chs.webapp.dto.ProductSearchResponse;
 import com.chs.webapp.dto.ProductUpdateRequest;
+import com.chs.webapp.dto.StreamingList;
+import com.chs.webapp.security.AuthenticatedUser;
 import com.chs.webapp.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,15 +29,16 @@ public class ProductController {
     private final ProductService productService;
 
     @PostMapping
-    public ResponseEntity<?> createProduct(@Valid @RequestBody ProductCreateRequest request, Authentication authentication) {
+    @QueryBudget(2)
+    public ResponseEntity<?> createProduct(@Valid @RequestBody ProductCreateRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
         log.info("Creating product with SKU: {}", request.getSku());
 
-        String authenticatedEmail = authentication.getName();
-        ProductResponse productResponse = productService.createProduct(request, authenticatedEmail);
+        ProductResponse productResponse = productService.createProduct(request, currentUser.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(productResponse);
     }
 
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<?> getProductById(@PathVariable UUID id) {
         log.info("Getting product info for ID: {}", id);
 
@@ -41,37 +47,70 @@ public class ProductController {
     }
 
     @GetMapping
+    @QueryBudget(1)
     public ResponseEntity<?> getAllProducts() {
         log.info("Getting all products");
 
-        List<ProductResponse> products = productService.getAllProducts();
+        StreamingList<ProductResponse> products = productService.getAllProducts();
         return ResponseEntity.ok(products);
     }
 
+    @PostMapping("/batch-get")
+    @QueryBudget(1)
+    public ResponseEntity<?> getProductsByIds(@Valid @RequestBody ProductBatchGetRequest request) {
+        log.info("Getting {} products by ID", request.getIds().size());
+
+        ProductBatchGetResponse response = productService.getProductsByIds(request.getIds());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/sku/{sku}")
+    @QueryBudget(2)
+    public ResponseEntity<?> getProductBySku(@PathVariable String sku) {
+        log.info("Getting product info for SKU: {}", sku);
+
+        ProductResponse productResponse = productService.getProductBySku(sku);
+        return ResponseEntity.ok(productResponse);
+    }
+
+    @GetMapping("/search")
+    @QueryBudget(1)
+    public ResponseEntity<?> searchProducts(@RequestParam(required = false) String q,
+                                            @RequestParam(required = false) String sku,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching products: q={}, sku={}, page={}, size={}", q, sku, page, size);
+
+        ProductSearchResponse result = productService.searchProducts(q, sku, page, size);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/user")
-    public ResponseEntity<?> getUserProducts(Authentication authentication) {
-        log.info("Getting products for user");
+    @QueryBudget(2)
+    public ResponseEntity<?> getUserProducts(@RequestParam(defaultValue = "false") boolean includeImages,
+                                             @RequestParam(defaultValue = "3") int imagesPerProduct,
+                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        log.info("Getting products for user (includeImages={})", includeImages);
 
-        String authenticatedEmail = authentication.getName();
-        List<ProductResponse> products = productService.getProductsByUser(authenticatedEmail);
+        StreamingList<ProductResponse> products = productService.getProductsByUser(currentUser.getId(), includeImages, imagesPerProduct);
         return ResponseEntity.ok(products);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateProduct(@PathVariable UUID id, @Valid @RequestBody ProductUpdateRequest request, Authentication authentication) {
+    @QueryBudget(3)
+    public ResponseEntity<?> updateProduct(@PathVariable UUID id, @Valid @RequestBody ProductUpdateRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
         log.info("Updating product with ID: {}", id);
 
-        String authenticatedEmail = authentication.getName();
-        ProductResponse productResponse = productService.updateProduct(id, request, authenticatedEmail);
+        ProductResponse productResponse = productService.updateProduct(id, request, currentUser.getId());
         return ResponseEntity.ok(productResponse);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteProduct(@PathVariable UUID id, Authentication authentication) {
+    @QueryBudget(4)
+    public ResponseEntity<?> deleteProduct(@PathVariable UUID id, @AuthenticationPrincipal AuthenticatedUser currentUser) {
         log.info("Deleting product with ID: {}", id);
 
-        String authenticatedEmail = authentication.getName();
-        productService.deleteProduct(id, authenticatedEmail);
+        productService.deleteProduct(id, currentUser.getId());
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,37 @@
+package com.chs.webapp.datasource;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * 以 datasource-proxy 包裝應用程式的 DataSource（bean 名稱 dataSource），讓 SqlStatementListener 看到每個 statement
+ * 只包裝這一個 bean，其他 DataSource（若有）經由它存取時不會重複計算
+ * listener 延遲取得，避免 BeanPostProcessor 提早初始化一般的 bean
+ */
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<? extends QueryExecutionListener> listener;
+
+    public DataSourceProxyPostProcessor(ObjectProvider<? extends QueryExecutionListener> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(DATA_SOURCE_BEAN)
+                    .listener(listener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,19 @@
+package com.chs.webapp.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Controller 方法最多可執行的 SQL statement 數（包含錯誤路徑，例如區分 404 / 403 的額外查詢）
+ * 只計算 handler 本身，不含認證；超過時由 QueryBudgetInterceptor 記錄
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,52 @@
+package com.chs.webapp.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 檢查 controller 方法的 @QueryBudget：超過時記錄 WARN，測試模式下另外記錄到 QueryBudgetViolations
+ * afterCompletion 在回應序列化之後執行，Stream 回應延遲載入的查詢也會計入
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private final SqlMonitorProperties properties;
+    private final QueryBudgetViolations violations;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.markHandlerStart();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget == null || stats.statementsSinceHandlerStart() <= budget.value()) {
+            return;
+        }
+
+        String endpoint = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        log.warn("Query budget exceeded for {}: {} statements (budget {})",
+                endpoint, stats.statementsSinceHandlerStart(), budget.value());
+        if (properties.isRecordBudgetViolations()) {
+            violations.record(new QueryBudgetViolation(endpoint, budget.value(), stats.statementsSinceHandlerStart()));
+        }
+    }
+}
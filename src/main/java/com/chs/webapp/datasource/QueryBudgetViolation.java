@@ -0,0 +1,7 @@
+package com.chs.webapp.datasource;
+
+/**
+ * 超過 @QueryBudget 的一次請求
+ */
+public record QueryBudgetViolation(String endpoint, int budget, int statements) {
+}
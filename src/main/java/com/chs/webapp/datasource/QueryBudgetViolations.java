@@ -0,0 +1,28 @@
+package com.chs.webapp.datasource;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 測試模式（sql-monitor.record-budget-violations=true）下收集超過預算的請求，整合測試在每個測試後檢查
+ */
+@Component
+public class QueryBudgetViolations {
+
+    private final List<QueryBudgetViolation> violations = new ArrayList<>();
+
+    synchronized void record(QueryBudgetViolation violation) {
+        violations.add(violation);
+    }
+
+    /**
+     * 取出並清空目前記錄的違規
+     */
+    public synchronized List<QueryBudgetViolation> drain() {
+        List<QueryBudgetViolation> drained = List.copyOf(violations);
+        violations.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,50 @@
+package com.chs.webapp.datasource;
+
+import com.chs.webapp.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 記錄最近有寫入的使用者：在 replica-routing.read-your-writes-window 內，他們的唯讀交易改走 primary
+ * 只記在本機記憶體；多個 instance 時由 window 涵蓋正常的複製延遲
+ */
+@Component
+@ConditionalOnProperty(prefix = "replica-routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesTracker {
+
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(ReplicaRoutingProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_USERS)
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    public void recordWrite(UUID userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isSticky(UUID userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+
+    /**
+     * 目前請求已認證的使用者；匿名請求或背景執行緒回傳 null
+     */
+    static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
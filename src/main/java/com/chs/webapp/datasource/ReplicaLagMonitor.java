@@ -0,0 +1,33 @@
+package com.chs.webapp.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定期查詢每個 replica 的複製延遲，超過 replica-routing.max-lag 或查詢失敗的 replica 暫停使用
+ */
+@Component
+@ConditionalOnProperty(prefix = "replica-routing", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicaRoutingProperties properties;
+
+    @Scheduled(fixedDelayString = "${replica-routing.lag-check-interval:PT2S}")
+    public void refresh() {
+        for (ReplicaTarget replica : routingDataSource.replicas()) {
+            try {
+                Double lag = new JdbcTemplate(replica.dataSource()).queryForObject(properties.getLagQuery(), Double.class);
+                replica.updateLag(lag != null ? lag : 0, properties.getMaxLag());
+            } catch (RuntimeException e) {
+                replica.markUnavailable(e);
+            }
+        }
+    }
+}
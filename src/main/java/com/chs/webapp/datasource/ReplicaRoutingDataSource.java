@@ -0,0 +1,100 @@
+package com.chs.webapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 依交易類型選擇資料庫：
+ * - 唯讀交易（@Transactional(readOnly = true)、Spring Data 內建的讀取方法）輪流使用可用的 replica
+ * - 其他（寫入交易、沒有交易的 JDBC 存取）一律走 primary
+ * - replica 全部不可用、連線失敗，或使用者剛寫入過（ReadYourWritesTracker）時改走 primary
+ * 必須包在 LazyConnectionDataSourceProxy 裡：交易開始時還不知道是否唯讀，要等到第一個 statement 才取得實際連線
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<ReplicaTarget> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaTarget> replicas, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public List<ReplicaTarget> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        UUID userId = ReadYourWritesTracker.currentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteAfterCommit(userId);
+            return primary.getConnection();
+        }
+        if (userId != null && readYourWrites.isSticky(userId)) {
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaTarget replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException | RuntimeException e) {
+                replica.markUnavailable(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * 寫入交易 commit 之後才開始計算 read-your-writes 的時間
+     */
+    private void recordWriteAfterCommit(UUID userId) {
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(userId);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaTarget replica : replicas) {
+            replica.close();
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.chs.webapp.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 讀取 replica 設定 - 對應 application.properties 中的 replica-routing.*
+ */
+@Component
+@ConfigurationProperties(prefix = "replica-routing")
+@Data
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 複製延遲超過此值的 replica 暫停使用，唯讀交易改走 primary
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // 使用者自己的寫入 commit 後，這段時間內的讀取都走 primary（read-your-writes）
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // replica 連不上時最多等多久就改用 primary
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    // 回傳延遲秒數；不是 standby（pg_is_in_recovery() = false）或已追上時為 0
+    private String lagQuery = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        // 沒有設定時沿用 spring.datasource 的帳號密碼
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,67 @@
+package com.chs.webapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * 單一 replica 的連線池與目前狀態（由 ReplicaLagMonitor 更新）
+ * 第一次檢查延遲之前不使用，避免啟動時把讀取送到落後很多的 replica
+ */
+@Slf4j
+public class ReplicaTarget implements AutoCloseable {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+
+    private volatile boolean available = false;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaTarget(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    HikariDataSource dataSource() {
+        return dataSource;
+    }
+
+    void updateLag(double lagSeconds, Duration maxLag) {
+        this.lagSeconds = lagSeconds;
+        boolean withinLimit = lagSeconds * 1000 <= maxLag.toMillis();
+        if (withinLimit != available) {
+            if (withinLimit) {
+                log.info("Replica {} is available (lag {}s)", name, lagSeconds);
+            } else {
+                log.warn("Replica {} lags {}s behind the primary (max {}), reading from primary", name, lagSeconds, maxLag);
+            }
+        }
+        available = withinLimit;
+    }
+
+    void markUnavailable(Exception cause) {
+        if (available || Double.isNaN(lagSeconds)) {
+            log.warn("Replica {} is unreachable, reading from primary: {}", name, cause.getMessage());
+        }
+        lagSeconds = Double.POSITIVE_INFINITY;
+        available = false;
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
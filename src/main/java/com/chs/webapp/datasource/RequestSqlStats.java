@@ -0,0 +1,52 @@
+package com.chs.webapp.datasource;
+
+/**
+ * 單一 HTTP 請求執行的 SQL statement 數量與耗時，綁定在處理請求的執行緒上
+ * 背景執行緒（ChangeLogWriter、排程）沒有綁定，不計入任何請求
+ */
+final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedMillis;
+    private int handlerStart;
+
+    static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void record(long elapsedMillis) {
+        statements++;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * 記下進入 controller 前的數量：預算只計算 handler 本身（不含認證查詢）
+     */
+    void markHandlerStart() {
+        handlerStart = statements;
+    }
+
+    int statementsSinceHandlerStart() {
+        return statements - handlerStart;
+    }
+}
@@ -0,0 +1,27 @@
+package com.chs.webapp.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * SQL 監控設定 - 對應 application.properties 中的 sql-monitor.*
+ */
+@Component
+@ConfigurationProperties(prefix = "sql-monitor")
+@Data
+public class SqlMonitorProperties {
+
+    private boolean enabled = true;
+
+    // 單一 statement 超過此時間記錄 WARN（只記錄參數型別，不記錄值）
+    private Duration slowStatementThreshold = Duration.ofMillis(200);
+
+    // 日誌中的 SQL 最多保留幾個字元
+    private int maxLoggedSqlLength = 1000;
+
+    // 測試模式：超過 @QueryBudget 的請求記錄到 QueryBudgetViolations，由整合測試檢查
+    private boolean recordBudgetViolations = false;
+}
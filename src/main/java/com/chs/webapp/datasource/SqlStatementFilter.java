@@ -0,0 +1,79 @@
+package com.chs.webapp.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每個 HTTP 請求開始統計 SQL statement，結束時依 endpoint（method + URI pattern）記錄 metrics：
+ * - http.server.requests.sql.statements：每個請求的 statement 數量
+ * - http.server.requests.sql.time：每個請求花在 SQL 的時間
+ * 排在 RequestCorrelationFilter 之後，涵蓋 security filter 的認證查詢
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "sql-monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC = "http.server.requests.sql.statements";
+    static final String TIME_METRIC = "http.server.requests.sql.time";
+
+    // 沒有對應到 controller 的請求（404、靜態資源）
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SqlStatementFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements executed per HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.statements());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent in SQL per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.elapsedMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,78 @@
+package com.chs.webapp.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * datasource-proxy 的 listener：累計目前請求的 statement 數量 / 耗時，並記錄慢查詢
+ * 慢查詢只記錄參數的型別（例如 [UUID, String]），避免把 email、密碼雜湊等值寫進日誌
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private final SqlMonitorProperties properties;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.record(elapsed);
+        }
+
+        if (elapsed >= properties.getSlowStatementThreshold().toMillis()) {
+            for (QueryInfo query : queryInfoList) {
+                log.warn("Slow SQL statement ({} ms{}): {} params={}", elapsed,
+                        execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                        truncate(query.getQuery()), parameterShape(query));
+            }
+        }
+    }
+
+    /**
+     * 第一組參數的型別（batch 的每一組形狀相同）
+     */
+    static String parameterShape(QueryInfo query) {
+        if (query.getParametersList().isEmpty()) {
+            return "[]";
+        }
+        return query.getParametersList().get(0).stream()
+                .sorted(Comparator.comparingInt(SqlStatementListener::indexOf))
+                .map(SqlStatementListener::typeOf)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static int indexOf(ParameterSetOperation operation) {
+        // CallableStatement 的具名參數沒有索引，排在最後
+        return operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE;
+    }
+
+    private static String typeOf(ParameterSetOperation operation) {
+        Object value = operation.getArgs()[1];
+        if ("setNull".equals(operation.getMethod().getName()) || value == null) {
+            return "null";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private String truncate(String sql) {
+        int max = properties.getMaxLoggedSqlLength();
+        return sql.length() <= max ? sql : sql.substring(0, max) + "...";
+    }
+}
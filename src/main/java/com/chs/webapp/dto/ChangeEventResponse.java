@@ -0,0 +1,28 @@
+package com.chs.webapp.dto;
+
+import com.chs.webapp.entity.ChangeEvent.EntityType;
+import com.chs.webapp.event.ProductChangedEvent.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventResponse {
+    private Long offset;
+    private EntityType entityType;
+    private UUID entityId;
+    private UUID productId;
+    private UUID ownerUserId;
+    private ChangeType changeType;
+    private String sku;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,20 @@
+package com.chs.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse {
+
+    private List<ChangeEventResponse> events;
+
+    // 下一次讀取時帶入的 after；沒有新事件時等於本次的 after
+    private long nextOffset;
+}
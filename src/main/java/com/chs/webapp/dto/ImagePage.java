@@ -0,0 +1,20 @@
+package com.chs.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImagePage {
+
+    private List<ImageResponse> items;
+
+    // 下一頁的 cursor，沒有下一頁時為 null
+    private String nextCursor;
+}
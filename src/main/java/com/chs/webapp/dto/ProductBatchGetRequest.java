@@ -0,0 +1,21 @@
+package com.chs.webapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchGetRequest {
+
+    @NotEmpty(message = "ids is required")
+    private List<@NotNull(message = "ids must not contain null") UUID> ids;
+}
@@ -0,0 +1,21 @@
+package com.chs.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImageSummary {
+
+    // 產品的圖片總數
+    private Integer count;
+
+    // 依上傳時間排序的前 N 張圖片
+    private List<ImageResponse> items;
+}
@@ -1,5 +1,6 @@
 package com.chs.webapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,4 +24,8 @@ public class ProductResponse {
     private LocalDateTime dateAdded;
     private LocalDateTime dateLastUpdated;
     private UUID ownerUserId;
+
+    // 只有 GET /v1/product/user?includeImages=true 才會帶入
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ProductImageSummary images;
 }
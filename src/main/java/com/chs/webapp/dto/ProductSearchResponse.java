@@ -0,0 +1,20 @@
+package com.chs.webapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResponse {
+
+    private List<ProductResponse> items;
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+}
@@ -0,0 +1,50 @@
+package com.chs.webapp.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * 序列化時才讀取資料的列表：message converter 寫出 body 時才呼叫 source，每個元素產生後立即寫入 JsonGenerator，
+ * 不建立中間的 List；JSON / CBOR / Smile 共用同一個寫法，ResponseBodyAdvice（cache header）照常在寫出前套用
+ * 回應開始寫出後 source 才失敗時已無法改成錯誤狀態碼，連線會被中斷
+ */
+public final class StreamingList<T> implements JsonSerializable {
+
+    private final Consumer<Consumer<T>> source;
+
+    /**
+     * @param source 逐一把元素交給傳入的 Consumer（通常在唯讀交易中走訪 repository 的 Stream）
+     */
+    public StreamingList(Consumer<Consumer<T>> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartArray();
+        try {
+            source.accept(element -> {
+                try {
+                    serializers.defaultSerializeValue(element, gen);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
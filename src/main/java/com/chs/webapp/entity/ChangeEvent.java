@@ -0,0 +1,81 @@
+package com.chs.webapp.entity;
+
+import com.chs.webapp.event.ProductChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 產品 / 圖片異動紀錄（append-only），供 change feed 的 consumer 依 offset 讀取
+ * offset 由 ChangeLogWriter 從 ChangeLogOffset 取得（依 commit 順序遞增，見該類別），不使用 IDENTITY：
+ * IDENTITY 在 insert 時配號，多個 instance 時較小的 offset 可能較晚 commit，已讀過更大 offset 的 consumer 會永遠漏掉
+ * 寫入由 ChangeLogWriter 以 JDBC 批次處理，這裡只用於建表與查詢
+ */
+@Entity
+@Table(name = "change_events", indexes = {
+        @Index(name = "idx_change_events_occurred_at", columnList = "occurred_at"),
+        @Index(name = "idx_change_events_owner_offset", columnList = "owner_user_id, event_offset")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    @Id
+    @Column(name = "event_offset")
+    private Long eventOffset;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "owner_user_id")
+    private UUID ownerUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    // 產品事件才有值
+    @Column(name = "sku")
+    private String sku;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // 以 id 判斷、不初始化 proxy，見 EntityIdentity
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, ChangeEvent::getEventOffset);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this);
+    }
+
+    @Override
+    public final String toString() {
+        return EntityIdentity.toString(this, ChangeEvent::getEventOffset,
+                event -> "entityType=" + event.getEntityType() + ", entityId=" + event.getEntityId() + ", changeType=" + event.getChangeType());
+    }
+
+    public enum EntityType {
+        PRODUCT,
+        IMAGE
+    }
+}
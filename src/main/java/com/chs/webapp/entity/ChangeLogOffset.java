@@ -0,0 +1,47 @@
+package com.chs.webapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * change_events 最後配出的 offset（只有一列）
+ * ChangeLogWriter 在寫入批次的同一個交易中 UPDATE 這一列取得 offset：列鎖持有到 commit，
+ * 所有 instance 的寫入依序配號並依同樣順序 commit，consumer 讀到的 offset 之前不會再出現新的事件
+ */
+@Entity
+@Table(name = "change_log_offsets")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeLogOffset {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_offset", nullable = false)
+    private long lastOffset;
+
+    // 以 id 判斷、不初始化 proxy，見 EntityIdentity
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, ChangeLogOffset::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this);
+    }
+
+    @Override
+    public final String toString() {
+        return EntityIdentity.toString(this, ChangeLogOffset::getId, offset -> "lastOffset=" + offset.getLastOffset());
+    }
+}
@@ -0,0 +1,62 @@
+package com.chs.webapp.entity;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+import java.util.function.Function;
+
+/**
+ * Entity 的 equals / hashCode / toString 共用實作，全部不會初始化 Hibernate proxy（不觸發 SQL）
+ * - equals：同一個 entity 類別且 id 相同；id 尚未產生（未 persist）時只和自己相等
+ * - hashCode：只依類別，persist 前後不變（id 在 persist 時才產生）
+ * - toString：只輸出 id 與呼叫端指定的欄位，不碰延遲載入的關聯；未初始化的 proxy 只輸出 id
+ * 這些方法在 entity 中宣告為 final，proxy 不會攔截，因此 self 可能是 proxy 本身
+ */
+final class EntityIdentity {
+
+    private EntityIdentity() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> boolean equals(T self, Object other, Function<T, ?> idGetter) {
+        if (self == other) {
+            return true;
+        }
+        if (other == null || effectiveClass(self) != effectiveClass(other)) {
+            return false;
+        }
+        Object id = identifier(self, idGetter);
+        return id != null && id.equals(identifier((T) other, idGetter));
+    }
+
+    static int hashCode(Object self) {
+        return effectiveClass(self).hashCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> String toString(T self, Function<T, ?> idGetter, Function<T, String> details) {
+        T entity = self;
+        if (self instanceof HibernateProxy proxy) {
+            LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+            if (initializer.isUninitialized()) {
+                return initializer.getPersistentClass().getSimpleName() + "(id=" + initializer.getIdentifier() + ", uninitialized)";
+            }
+            entity = (T) initializer.getImplementation();
+        }
+        return entity.getClass().getSimpleName() + "(id=" + idGetter.apply(entity) + ", " + details.apply(entity) + ")";
+    }
+
+    private static Class<?> effectiveClass(Object entity) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getPersistentClass();
+        }
+        return entity.getClass();
+    }
+
+    private static <T> Object identifier(T entity, Function<T, ?> idGetter) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return idGetter.apply(entity);
+    }
+}
@@ -5,16 +5,21 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "images")
-@Data
+// 對應圖片列表的 keyset 分頁順序
+@Table(name = "images", indexes = {
+        @Index(name = "idx_images_product_created", columnList = "product_id, date_created, image_id")
+})
+@Getter
+@Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,4 +46,22 @@ public class Image {
     @NotBlank
     @Column(name = "s3_bucket_path", nullable = false)
     private String s3BucketPath;
-}
\ No newline at end of file
+
+    // 以 id 判斷、不初始化 proxy，見 EntityIdentity
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, Image::getImageId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this);
+    }
+
+    // 不輸出 product，記錄圖片時不載入產品
+    @Override
+    public final String toString() {
+        return EntityIdentity.toString(this, Image::getImageId,
+                image -> "fileName=" + image.getFileName() + ", s3BucketPath=" + image.getS3BucketPath());
+    }
+}
@@ -6,8 +6,11 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,7 +19,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "products")
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@Getter
+@Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,4 +64,22 @@ public class Product {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_user_id", nullable = false)
     private User owner;
+
+    // 以 id 判斷、不初始化 proxy，見 EntityIdentity
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, Product::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this);
+    }
+
+    // owner 是延遲載入的關聯，只輸出自身欄位
+    @Override
+    public final String toString() {
+        return EntityIdentity.toString(this, Product::getId,
+                product -> "sku=" + product.getSku() + ", name=" + product.getName());
+    }
 }
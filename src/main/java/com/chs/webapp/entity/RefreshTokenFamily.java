@@ -0,0 +1,67 @@
+package com.chs.webapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 一次登入所簽發的 refresh token 鏈：每次 refresh 都換成新的 token，只有 current_token_id 那一個有效
+ * 已換發過的 token 再次出現代表外洩，整個 family 標記 revoked（合法持有人也需要重新登入）
+ * 所有 instance 共用這張表，換發與撤銷都以單一條件式 UPDATE 完成
+ */
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+        @Index(name = "idx_refresh_token_families_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshTokenFamily {
+
+    @Id
+    @Column(name = "family_id")
+    private UUID familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "current_token_id", nullable = false)
+    private UUID currentTokenId;
+
+    // 目前有效的 refresh token 到期時間，之後由 RefreshTokenRetention 刪除
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Builder.Default
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked = false;
+
+    // 以 id 判斷、不初始化 proxy，見 EntityIdentity
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, RefreshTokenFamily::getFamilyId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this);
+    }
+
+    @Override
+    public final String toString() {
+        return EntityIdentity.toString(this, RefreshTokenFamily::getFamilyId,
+                family -> "userId=" + family.getUserId() + ", revoked=" + family.isRevoked());
+    }
+}
@@ -6,8 +6,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,7 +20,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@Getter
+@Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,6 +43,12 @@ public class User {
     @Column(nullable = false)
     private String password;
 
+    // 使用者變更密碼時遞增，token 以此判斷密碼是否變更過；登入時的重新雜湊不改變它
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "password_version", nullable = false)
+    private int passwordVersion = 0;
+
     @NotBlank(message = "First name is required")
     @Column(name = "first_name", nullable = false)
     private String firstName;
@@ -51,4 +64,22 @@ public class User {
     @UpdateTimestamp
     @Column(name = "account_updated", nullable = false)
     private LocalDateTime accountUpdated;
+
+    // 以 id 判斷、不初始化 proxy，見 EntityIdentity
+    @Override
+    public final boolean equals(Object o) {
+        return EntityIdentity.equals(this, o, User::getId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return EntityIdentity.hashCode(this);
+    }
+
+    // 不輸出密碼雜湊
+    @Override
+    public final String toString() {
+        return EntityIdentity.toString(this, User::getId,
+                user -> "email=" + user.getEmail() + ", firstName=" + user.getFirstName() + ", lastName=" + user.getLastName());
+    }
 }
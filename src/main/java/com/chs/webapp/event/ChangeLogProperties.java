@@ -0,0 +1,41 @@
+package com.chs.webapp.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Change feed 設定 - 對應 application.properties 中的 change-log.*
+ */
+@Component
+@ConfigurationProperties(prefix = "change-log")
+@Data
+public class ChangeLogProperties {
+
+    private boolean enabled = true;
+
+    // commit 後先放入記憶體佇列，滿了就丟棄並記錄（不阻塞寫入請求）；資料庫長時間無法寫入時佇列會滿
+    private int queueCapacity = 10_000;
+
+    // 每批最多寫入幾筆
+    private int batchSize = 500;
+
+    // 佇列未滿一批時，最多等多久就寫入
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    // 寫入失敗時重試的退避時間（每次加倍，最多 retry-max-backoff），批次保留到寫入成功
+    private Duration retryInitialBackoff = Duration.ofMillis(100);
+
+    private Duration retryMaxBackoff = Duration.ofSeconds(10);
+
+    // 停止時每批最多再嘗試幾次，仍失敗才丟棄
+    private int shutdownWriteAttempts = 3;
+
+    // 超過保留期間的事件由 ChangeLogRetention 刪除
+    private Duration retention = Duration.ofDays(7);
+
+    // 每個刪除交易最多涵蓋的 offset 數，避免長交易
+    private int retentionBatchSize = 10_000;
+}
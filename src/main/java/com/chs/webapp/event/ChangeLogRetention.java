@@ -0,0 +1,55 @@
+package com.chs.webapp.event;
+
+import com.chs.webapp.repository.ChangeEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刪除超過保留期間的 change log
+ * offset 大致依時間遞增，先找出 cutoff 之前最大的 offset，再以 primary key 範圍分批刪除，每批一個交易
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeLogRetention {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeLogProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${change-log.retention-check-interval:PT1H}",
+            initialDelayString = "${change-log.retention-check-interval:PT1H}")
+    public void purgeExpired() {
+        if (properties.isEnabled()) {
+            purgeOlderThan(LocalDateTime.now().minus(properties.getRetention()));
+        }
+    }
+
+    /**
+     * @return 刪除的筆數
+     */
+    public int purgeOlderThan(LocalDateTime cutoff) {
+        Optional<Long> upTo = changeEventRepository.findMaxOffsetBefore(cutoff);
+        Optional<Long> from = changeEventRepository.findMinOffset();
+        if (upTo.isEmpty() || from.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = 0;
+        for (long start = from.get(); start <= upTo.get(); start += properties.getRetentionBatchSize()) {
+            long end = Math.min(start + properties.getRetentionBatchSize() - 1, upTo.get());
+            long rangeStart = start;
+            Integer count = transactionTemplate.execute(status -> changeEventRepository.deleteOffsetRange(rangeStart, end));
+            deleted += count != null ? count : 0;
+        }
+
+        log.info("Change log retention removed {} events older than {}", deleted, cutoff);
+        return deleted;
+    }
+}
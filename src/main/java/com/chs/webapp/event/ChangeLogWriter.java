@@ -0,0 +1,271 @@
+package com.chs.webapp.event;
+
+import com.chs.webapp.entity.ChangeEvent.EntityType;
+import com.chs.webapp.entity.ChangeLogOffset;
+import com.chs.webapp.event.ProductChangedEvent.ChangeType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind change log：commit 後把異動放入佇列，由單一背景執行緒批次寫入 change_events
+ * 寫入請求只多一次 offer，不等待資料庫；只有佇列滿時才丟棄並計數
+ * 寫入失敗（例如連線中斷）時保留同一批，以指數退避重試到寫入成功；停止時最多再試 shutdown-write-attempts 次
+ * offset 在寫入交易中由 change_log_offsets 配號（見 ChangeLogOffset），跨 instance 依 commit 順序遞增
+ */
+@Component
+@Slf4j
+public class ChangeLogWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO change_events " +
+            "(event_offset, entity_type, entity_id, product_id, owner_user_id, change_type, sku, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String RESERVE_OFFSETS_SQL =
+            "UPDATE change_log_offsets SET last_offset = last_offset + ? WHERE id = " + ChangeLogOffset.SINGLETON_ID;
+    private static final String LAST_OFFSET_SQL =
+            "SELECT last_offset FROM change_log_offsets WHERE id = " + ChangeLogOffset.SINGLETON_ID;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeLogProperties properties;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean offsetRowReady;
+    private Thread worker;
+
+    public ChangeLogWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ChangeLogProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "change-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 停止前把佇列中剩餘的事件寫完
+     * 背景執行緒可能正在執行 JDBC 批次（中斷無效），先等它結束；最多等 shutdown-write-attempts 次最長退避時間
+     * 仍未結束時不再寫入：兩個執行緒同時配 offset 會造成順序錯亂或重複寫入，剩餘事件記錄後丟棄
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(properties.getFlushInterval().toMillis() * 10
+                + properties.getRetryMaxBackoff().toMillis() * properties.getShutdownWriteAttempts());
+        if (worker.isAlive()) {
+            List<Entry> unflushed = new ArrayList<>();
+            queue.drainTo(unflushed);
+            dropped.addAndGet(unflushed.size());
+            log.error("Change log writer did not stop in time, {} queued events were not written", unflushed.size());
+            return;
+        }
+        flushRemaining();
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        enqueue(new Entry(EntityType.PRODUCT, event.productId(), event.productId(), event.ownerId(),
+                event.type(), event.sku(), LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener
+    public void onImageChanged(ImageChangedEvent event) {
+        enqueue(new Entry(EntityType.IMAGE, event.imageId(), event.productId(), event.ownerId(),
+                event.type(), null, LocalDateTime.now()));
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    private void enqueue(Entry entry) {
+        if (!running) {
+            return;
+        }
+        if (!queue.offer(entry)) {
+            long total = dropped.incrementAndGet();
+            // 避免佇列滿時每筆都寫 log
+            if (total == 1 || total % 1_000 == 0) {
+                log.warn("Change log queue full, dropped {} events so far", total);
+            }
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<Entry> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                Entry next = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    continue;
+                }
+                batch.add(next);
+
+                // 收集到一批或等待時間到為止
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || (next = queue.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // 停止中：尚未寫入的放回佇列，交給 flushRemaining
+                for (Entry entry : batch) {
+                    if (!queue.offer(entry)) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                batch.clear();
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<Entry> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            if (!writeBeforeShutdown(batch)) {
+                dropped.addAndGet(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 寫入失敗時不丟棄：同一批以指數退避重試，直到成功或執行緒被中斷（停止）
+     */
+    private void writeWithRetry(List<Entry> batch) throws InterruptedException {
+        Duration backoff = properties.getRetryInitialBackoff();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} change log events (attempt {}), retrying in {}", batch.size(), attempt, backoff, e);
+                Thread.sleep(backoff);
+                Duration doubled = backoff.multipliedBy(2);
+                backoff = doubled.compareTo(properties.getRetryMaxBackoff()) > 0 ? properties.getRetryMaxBackoff() : doubled;
+            }
+        }
+    }
+
+    private boolean writeBeforeShutdown(List<Entry> batch) {
+        for (int attempt = 1; attempt <= properties.getShutdownWriteAttempts(); attempt++) {
+            try {
+                write(batch);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} change log events during shutdown (attempt {} of {})",
+                        batch.size(), attempt, properties.getShutdownWriteAttempts(), e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 同一個交易：配 offset（鎖住 change_log_offsets 的列直到 commit）→ 批次 insert
+     */
+    private void write(List<Entry> batch) {
+        if (!offsetRowReady) {
+            initializeOffsetRow();
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.update(RESERVE_OFFSETS_SQL, batch.size()) == 0) {
+                offsetRowReady = false;
+                throw new IllegalStateException("change_log_offsets row is missing");
+            }
+            long first = jdbcTemplate.queryForObject(LAST_OFFSET_SQL, Long.class) - batch.size() + 1;
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    Entry entry = batch.get(i);
+                    statement.setLong(1, first + i);
+                    statement.setString(2, entry.entityType().name());
+                    statement.setObject(3, entry.entityId());
+                    statement.setObject(4, entry.productId());
+                    statement.setObject(5, entry.ownerId());
+                    statement.setString(6, entry.changeType().name());
+                    statement.setString(7, entry.sku());
+                    statement.setTimestamp(8, Timestamp.valueOf(entry.occurredAt()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        });
+        written.addAndGet(batch.size());
+    }
+
+    /**
+     * 第一次寫入前建立計數列，從既有事件最大的 offset 接續；多個 instance 同時建立時只有一個成功
+     */
+    private void initializeOffsetRow() {
+        try {
+            jdbcTemplate.update("INSERT INTO change_log_offsets (id, last_offset) " +
+                    "SELECT ?, COALESCE(MAX(event_offset), 0) FROM change_events " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM change_log_offsets WHERE id = ?)",
+                    ChangeLogOffset.SINGLETON_ID, ChangeLogOffset.SINGLETON_ID);
+        } catch (DuplicateKeyException e) {
+            log.debug("change_log_offsets row created by another instance");
+        }
+        offsetRowReady = true;
+    }
+
+    private record Entry(EntityType entityType, UUID entityId, UUID productId, UUID ownerId,
+                         ChangeType changeType, String sku, LocalDateTime occurredAt) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.chs.webapp.event;
+
+import com.chs.webapp.event.ProductChangedEvent.ChangeType;
+
+import java.util.UUID;
+
+/**
+ * 圖片異動事件 - 由 ImageService 發布（CREATED / DELETED）
+ * 刪除產品時連帶刪除的圖片不逐筆發布，由產品的 DELETED 事件涵蓋
+ */
+public record ImageChangedEvent(
+        ChangeType type,
+        UUID imageId,
+        UUID productId,
+        UUID ownerId
+) {
+}
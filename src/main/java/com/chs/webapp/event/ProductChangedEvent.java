@@ -0,0 +1,22 @@
+package com.chs.webapp.event;
+
+import java.util.UUID;
+
+/**
+ * 產品異動事件 - 由 ProductService 發布，監聽端使用 @TransactionalEventListener 在 commit 後處理
+ * previousSku 只在 UPDATED 且 SKU 有變更時才有值
+ */
+public record ProductChangedEvent(
+        ChangeType type,
+        UUID productId,
+        UUID ownerId,
+        String sku,
+        String previousSku
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
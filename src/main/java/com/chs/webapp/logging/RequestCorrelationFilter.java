@@ -0,0 +1,67 @@
+package com.chs.webapp.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * 每個請求的 correlation id 與日誌取樣決定
+ * - X-Request-Id：沿用上游（ALB / 呼叫端）帶入的值，沒有或格式不符時產生新的，並回傳在 response header
+ * - GET / HEAD 依 app-logging.read-sample-rate 取樣，未被取樣的請求只保留 WARN 以上（SampledRequestTurboFilter）
+ * 排在所有 filter 之前，讓 security filter 的日誌也帶有 requestId
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCorrelationFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_KEY = "requestId";
+    static final String SAMPLED_OUT_KEY = "logSampledOut";
+
+    // 避免把任意字串（換行、超長內容）寫進日誌
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final double readSampleRate;
+
+    public RequestCorrelationFilter(@Value("${app-logging.read-sample-rate:1.0}") double readSampleRate) {
+        this.readSampleRate = readSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        MDC.put(REQUEST_ID_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        if (isRead(request) && readSampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= readSampleRate) {
+            MDC.put(SAMPLED_OUT_KEY, "true");
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(SAMPLED_OUT_KEY);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+}
@@ -0,0 +1,23 @@
+package com.chs.webapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * 未被取樣的讀取請求：在建立 logging event 之前就丟棄 INFO 以下的日誌，WARN / ERROR 一律保留
+ * 由 logback-spring.xml 註冊
+ */
+public class SampledRequestTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(RequestCorrelationFilter.SAMPLED_OUT_KEY) != null ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,35 @@
+package com.chs.webapp.repository;
+
+import com.chs.webapp.dto.ChangeEventResponse;
+import com.chs.webapp.entity.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    // 只讀呼叫者自己的事件，走 (owner_user_id, event_offset) 索引範圍，不需要 OFFSET 掃描
+    @Query("select new com.chs.webapp.dto.ChangeEventResponse(e.eventOffset, e.entityType, e.entityId, e.productId, " +
+            "e.ownerUserId, e.changeType, e.sku, e.occurredAt) " +
+            "from ChangeEvent e where e.ownerUserId = :ownerId and e.eventOffset > :after order by e.eventOffset")
+    List<ChangeEventResponse> findPageAfter(@Param("ownerId") UUID ownerId, @Param("after") long after, Pageable pageable);
+
+    @Query("select max(e.eventOffset) from ChangeEvent e where e.occurredAt < :cutoff")
+    Optional<Long> findMaxOffsetBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("select min(e.eventOffset) from ChangeEvent e")
+    Optional<Long> findMinOffset();
+
+    @Modifying
+    @Query("delete from ChangeEvent e where e.eventOffset >= :fromOffset and e.eventOffset <= :toOffset")
+    int deleteOffsetRange(@Param("fromOffset") long fromOffset, @Param("toOffset") long toOffset);
+}
@@ -1,15 +1,88 @@
 package com.chs.webapp.repository;
 
+import com.chs.webapp.dto.ImageResponse;
 import com.chs.webapp.entity.Image;
-import com.chs.webapp.entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ImageRepository extends JpaRepository<Image, UUID> {
-    List<Image> findByProduct(Product product);
-    void deleteByProduct(Product product);
-}
\ No newline at end of file
+    // keyset 分頁（date_created, image_id）- 第一頁
+    @Query("select new com.chs.webapp.dto.ImageResponse(i.imageId, i.product.id, i.fileName, i.dateCreated, i.s3BucketPath) " +
+            "from Image i where i.product.id = :productId order by i.dateCreated, i.imageId")
+    List<ImageResponse> findPageByProductId(@Param("productId") UUID productId, Pageable pageable);
+
+    // keyset 分頁 - cursor 之後的下一頁
+    @Query("select new com.chs.webapp.dto.ImageResponse(i.imageId, i.product.id, i.fileName, i.dateCreated, i.s3BucketPath) " +
+            "from Image i where i.product.id = :productId " +
+            "and (i.dateCreated > :afterDate or (i.dateCreated = :afterDate and i.imageId > :afterId)) " +
+            "order by i.dateCreated, i.imageId")
+    List<ImageResponse> findPageByProductIdAfter(@Param("productId") UUID productId,
+                                                 @Param("afterDate") LocalDateTime afterDate,
+                                                 @Param("afterId") UUID afterId,
+                                                 Pageable pageable);
+
+    @Query("select new com.chs.webapp.dto.ImageResponse(i.imageId, i.product.id, i.fileName, i.dateCreated, i.s3BucketPath) " +
+            "from Image i where i.imageId = :imageId and i.product.id = :productId")
+    Optional<ImageResponse> findResponseByIdAndProductId(@Param("imageId") UUID imageId, @Param("productId") UUID productId);
+
+    // 一次查詢同時驗證：圖片存在、屬於該產品、產品屬於該使用者
+    // FOR UPDATE 鎖住資料列到刪除的交易結束，S3KeyMigrator 不會在讀取 key 之後才改寫它（否則刪到舊物件、留下新物件）
+    // 以 native query 撰寫：JPA 的 PESSIMISTIC_WRITE 在 PostgreSQL dialect 產生 H2 不支援的 FOR NO KEY UPDATE
+    @Query(value = """
+            SELECT i.s3_bucket_path FROM images i JOIN products p ON p.id = i.product_id
+            WHERE i.image_id = :imageId AND i.product_id = :productId AND p.owner_user_id = :ownerId
+            FOR UPDATE
+            """, nativeQuery = true)
+    Optional<String> findS3BucketPathOwnedBy(@Param("imageId") UUID imageId,
+                                             @Param("productId") UUID productId,
+                                             @Param("ownerId") UUID ownerId);
+
+    // 使用者所有產品的圖片摘要一次查回：window function 在資料庫端計算每個產品的總數並只取前 limit 張
+    // 第一張一定回傳（limit 為 0 時用來帶回總數），超過 limit 的由呼叫端略過；沒有圖片的產品不會出現
+    // 以 owner 為條件，產品列表逐筆寫出時不需要先收集 product id
+    @Query("""
+            select r.imageId as imageId, r.productId as productId, r.fileName as fileName, r.dateCreated as dateCreated,
+                   r.s3BucketPath as s3BucketPath, r.imageIndex as imageIndex, r.imageCount as imageCount
+            from (select i.imageId as imageId, i.product.id as productId, i.fileName as fileName,
+                         i.dateCreated as dateCreated, i.s3BucketPath as s3BucketPath,
+                         row_number() over (partition by i.product.id order by i.dateCreated, i.imageId) as imageIndex,
+                         count(*) over (partition by i.product.id) as imageCount
+                  from Image i where i.product.owner.id = :ownerId) r
+            where r.imageIndex <= :limit or r.imageIndex = 1
+            order by r.productId, r.imageIndex
+            """)
+    List<ImageSummaryRow> findSummaryRowsByOwnerId(@Param("ownerId") UUID ownerId, @Param("limit") int limit);
+
+    // 同上，刪除產品時鎖住所有圖片列
+    @Query(value = "SELECT s3_bucket_path FROM images WHERE product_id = :productId FOR UPDATE", nativeQuery = true)
+    List<String> findS3BucketPathsByProductId(@Param("productId") UUID productId);
+
+    @Modifying
+    @Query("delete from Image i where i.imageId = :imageId")
+    int deleteByImageId(@Param("imageId") UUID imageId);
+
+    @Modifying
+    @Query("delete from Image i where i.product.id = :productId")
+    int deleteAllByProductId(@Param("productId") UUID productId);
+
+    interface ImageSummaryRow {
+        UUID getImageId();
+        UUID getProductId();
+        String getFileName();
+        LocalDateTime getDateCreated();
+        String getS3BucketPath();
+        // 在產品中依上傳時間的順序，從 1 開始
+        long getImageIndex();
+        long getImageCount();
+    }
+}
@@ -0,0 +1,14 @@
+package com.chs.webapp.repository;
+
+import com.chs.webapp.entity.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 批次讀取產品 - 先查 persistence context / second-level cache，缺少的才以單一查詢載入
+ */
+public interface ProductBatchRepository {
+    List<Product> findAllByIdsUsingCache(Collection<UUID> ids);
+}
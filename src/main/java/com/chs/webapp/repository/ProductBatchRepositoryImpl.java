@@ -0,0 +1,34 @@
+package com.chs.webapp.repository;
+
+import com.chs.webapp.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+class ProductBatchRepositoryImpl implements ProductBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findAllByIdsUsingCache(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // batch size = ids 數量，確保未命中快取的部分只發出一個 IN 查詢
+        List<Product> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .enableSessionCheck(true)
+                .withBatchSize(ids.size())
+                .multiLoad(new ArrayList<>(ids));
+
+        return loaded.stream().filter(Objects::nonNull).toList();
+    }
+}
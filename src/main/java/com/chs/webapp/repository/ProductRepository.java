@@ -1,15 +1,82 @@
 package com.chs.webapp.repository;
 
 import com.chs.webapp.entity.Product;
-import com.chs.webapp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, UUID> {
-    List<Product> findByOwner(User owner);
-    Optional<Product> findByIdAndOwner(UUID id, User owner);
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductBatchRepository {
+    // 快取的是 id 清單，entity 本身從 product region 取得
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "product-by-owner")
+    })
+    List<Product> findByOwnerId(UUID ownerId);
+    Optional<Product> findByIdAndOwnerId(UUID id, UUID ownerId);
+
+    // 列表回應逐筆讀取並寫出（StreamingList），呼叫端需在交易中使用並關閉 Stream
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p")
+    Stream<Product> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p where p.owner.id = :ownerId")
+    Stream<Product> streamByOwnerId(@Param("ownerId") UUID ownerId);
     boolean existsBySku(String sku);
+    boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
+    Optional<Product> findBySku(String sku);
+
+    // 驗證擁有者的同時取回 SKU（刪除後同步 SKU 索引用）
+    @Query("select p.sku from Product p where p.id = :id and p.owner.id = :ownerId")
+    Optional<String> findSkuByIdAndOwnerId(@Param("id") UUID id, @Param("ownerId") UUID ownerId);
+
+    // 啟動時載入 SKU 索引，以 cursor 分批讀取避免一次載入全部資料
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select p.sku as sku, p.id as id from Product p")
+    Stream<SkuView> streamAllSkus();
+
+    // 全文搜尋（tsvector + GIN）加上 name 的 trigram 模糊比對，依相關度排序；需要 db/postgresql/product_search.sql
+    @Query(value = """
+            SELECT p.* FROM products p
+            WHERE p.search_vector @@ websearch_to_tsquery('english', :query)
+               OR p.name % :query
+            ORDER BY ts_rank_cd(p.search_vector, websearch_to_tsquery('english', :query))
+                     + similarity(p.name, :query) DESC, p.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Product> searchFullText(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    // SKU 前綴查詢，pattern 由呼叫端跳脫並加上 '%'
+    @Query(value = """
+            SELECT p.* FROM products p
+            WHERE lower(p.sku) LIKE :pattern ESCAPE '\\'
+            ORDER BY lower(p.sku)
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Product> searchBySkuPrefix(@Param("pattern") String pattern, @Param("limit") int limit, @Param("offset") long offset);
+
+    // 授權與刪除在同一個 statement 完成，回傳 0 代表不存在或不是擁有者
+    @Modifying
+    @Query("delete from Product p where p.id = :id and p.owner.id = :ownerId")
+    int deleteByIdAndOwnerId(@Param("id") UUID id, @Param("ownerId") UUID ownerId);
+
+    interface SkuView {
+        String getSku();
+        UUID getId();
+    }
 }
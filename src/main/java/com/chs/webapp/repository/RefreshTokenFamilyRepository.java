@@ -0,0 +1,32 @@
+package com.chs.webapp.repository;
+
+import com.chs.webapp.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+
+    // 只有目前有效的 token 能換發；同一個 token 同時被使用兩次時只有一個 UPDATE 成功，回傳 0 代表已使用過或已撤銷
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.currentTokenId = :nextTokenId, f.expiresAt = :expiresAt " +
+            "where f.familyId = :familyId and f.currentTokenId = :tokenId and f.revoked = false")
+    int rotate(@Param("familyId") UUID familyId,
+               @Param("tokenId") UUID tokenId,
+               @Param("nextTokenId") UUID nextTokenId,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.familyId = :familyId")
+    int revoke(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshTokenFamily f where f.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
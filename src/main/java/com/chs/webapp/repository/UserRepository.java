@@ -2,11 +2,20 @@ package com.chs.webapp.repository;
 
 import com.chs.webapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+    // 認證與 refresh token 用來讀密碼雜湊，不放 query cache：快取只在本機失效，其他 instance 改的密碼要在 UserLookupCache 的 TTL 內生效
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // 只更新雜湊，不觸發 @UpdateTimestamp（重新雜湊不算使用者修改資料）
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
 }
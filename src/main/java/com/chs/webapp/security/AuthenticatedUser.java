@@ -0,0 +1,50 @@
+package com.chs.webapp.security;
+
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 認證後的 principal - 帶著 user id 往下傳，Controller / Service 不需要再用 email 查一次 users
+ * 每次認證都建立新的實例，eraseCredentials 不會影響快取中的資料
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final List<GrantedAuthority> AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_USER");
+
+    private final UUID id;
+    private final String email;
+    private String password;
+
+    public AuthenticatedUser(UUID id, String email, String password) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+    }
+
+    public static AuthenticatedUser from(UserLookupCache.CachedUser cachedUser) {
+        return new AuthenticatedUser(cachedUser.id(), cachedUser.email(), cachedUser.passwordHash());
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.chs.webapp.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 在部署機器上挑選密碼雜湊成本：找出驗證時間不超過目標值的最大 bcrypt strength 與 PBKDF2 iterations
+ *
+ * 使用方式（目標毫秒數預設 250）：
+ * java -cp webapp.jar -Dloader.main=com.chs.webapp.security.PasswordCostCalibrator \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher 250
+ */
+public final class PasswordCostCalibrator {
+
+    // 低於 Spring 預設值就不再往下調，寧可慢一點
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int SAMPLES = 5;
+    private static final int PBKDF2_PROBE_ITERATIONS = 100_000;
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+
+    private PasswordCostCalibrator() {
+    }
+
+    public static void main(String[] args) {
+        Duration target = Duration.ofMillis(args.length > 0 ? Long.parseLong(args[0]) : 250);
+
+        int strength = calibrateBcrypt(target);
+        int iterations = calibratePbkdf2(target);
+
+        System.out.printf("Target verify time: %d ms (%d CPUs)%n", target.toMillis(), Runtime.getRuntime().availableProcessors());
+        System.out.printf("security.password.bcrypt-strength=%d%n", strength);
+        System.out.printf("security.password.pbkdf2-iterations=%d%n", iterations);
+    }
+
+    /**
+     * bcrypt 每增加 1，成本加倍，所以從最小值往上量，超過目標就停
+     */
+    public static int calibrateBcrypt(Duration target) {
+        int chosen = MIN_BCRYPT_STRENGTH;
+
+        for (int strength = MIN_BCRYPT_STRENGTH; strength <= MAX_BCRYPT_STRENGTH; strength++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            String hash = encoder.encode(SAMPLE_PASSWORD);
+            long medianNanos = medianVerifyNanos(() -> encoder.matches(SAMPLE_PASSWORD, hash));
+
+            if (medianNanos > target.toNanos()) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    /**
+     * PBKDF2 成本與 iterations 成正比，量一次後線性換算
+     */
+    public static int calibratePbkdf2(Duration target) {
+        Pbkdf2PasswordEncoder encoder = new Pbkdf2PasswordEncoder("", 16, PBKDF2_PROBE_ITERATIONS,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long medianNanos = medianVerifyNanos(() -> encoder.matches(SAMPLE_PASSWORD, hash));
+
+        long scaled = PBKDF2_PROBE_ITERATIONS * target.toNanos() / Math.max(1, medianNanos);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(PBKDF2_PROBE_ITERATIONS, scaled / 10_000 * 10_000));
+    }
+
+    private static long medianVerifyNanos(Runnable verify) {
+        verify.run(); // warm-up
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            verify.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
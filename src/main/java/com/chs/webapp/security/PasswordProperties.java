@@ -0,0 +1,29 @@
+package com.chs.webapp.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密碼雜湊設定 - 對應 application.properties 中的 security.password.*
+ * 調整參數後，使用者下次登入成功時會自動以新參數重新雜湊
+ */
+@Component
+@ConfigurationProperties(prefix = "security.password")
+@Data
+public class PasswordProperties {
+
+    // 新密碼使用的演算法：bcrypt | pbkdf2 | argon2
+    private String algorithm = "bcrypt";
+
+    // bcrypt work factor (4 ~ 31)，每 +1 驗證時間約加倍；可用 PasswordCostCalibrator 依機器 CPU 挑選
+    private int bcryptStrength = 10;
+
+    private int pbkdf2Iterations = 310_000;
+
+    private int argon2MemoryKb = 19_456;
+
+    private int argon2Iterations = 2;
+
+    private int argon2Parallelism = 1;
+}
@@ -0,0 +1,11 @@
+package com.chs.webapp.security;
+
+/**
+ * 端點類別 - 每個類別有各自的速率預算
+ */
+public enum RateLimitClass {
+    AUTH,
+    UPLOAD,
+    WRITE,
+    READ
+}
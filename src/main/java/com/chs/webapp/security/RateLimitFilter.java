@@ -0,0 +1,125 @@
+package com.chs.webapp.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 速率限制過濾器 - 放在 BasicAuthenticationFilter 之前，被拒絕的請求不會執行 bcrypt
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern IMAGE_UPLOAD_PATH = Pattern.compile("^/v1/product/[^/]+/image/?$");
+    private static final String BATCH_GET_PATH = "/v1/product/batch-get";
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || "/health".equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // 位於 ALB 後方時 remoteAddr 已由 server.forward-headers-strategy=native 還原為 client IP
+        String ipKey = "ip:" + request.getRemoteAddr();
+        String claimedEmail = resolveBasicUsername(request);
+        String identity = resolveAuthenticatedEmail();
+        long waitNanos = 0;
+
+        // 1. HTTP Basic：同時限制來源 IP 與被嘗試的帳號，擋下暴力破解
+        if (identity == null && claimedEmail != null) {
+            waitNanos = Math.max(waitNanos, rateLimiter.tryAcquire(RateLimitClass.AUTH, ipKey));
+            waitNanos = Math.max(waitNanos, rateLimiter.tryAcquire(RateLimitClass.AUTH, "user:" + claimedEmail));
+            identity = claimedEmail;
+        }
+
+        // 2. 端點類別：已知身分時依 email，否則依 IP
+        if (waitNanos == 0) {
+            String key = identity != null ? "user:" + identity : ipKey;
+            waitNanos = rateLimiter.tryAcquire(classify(request), key);
+        }
+
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    static RateLimitClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+
+        if (HttpMethod.POST.matches(method) && IMAGE_UPLOAD_PATH.matcher(request.getRequestURI()).matches()) {
+            return RateLimitClass.UPLOAD;
+        }
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || BATCH_GET_PATH.equals(request.getRequestURI())) {
+            return RateLimitClass.READ;
+        }
+        return RateLimitClass.WRITE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.warn("Rate limit exceeded: method={}, uri={}, retryAfter={}s",
+                request.getMethod(), request.getRequestURI(), retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+
+    private String resolveAuthenticatedEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * 只解析 header 中宣稱的帳號，不驗證密碼
+     */
+    private String resolveBasicUsername(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return separator > 0 ? decoded.substring(0, separator).toLowerCase() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.chs.webapp.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 速率限制設定 - 對應 application.properties 中的 rate-limit.*
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 最多追蹤多少個 key（IP / email），超過時改用 overflow bucket，避免記憶體無限成長
+    private int maxTrackedKeys = 100_000;
+
+    // 每個端點類別的 overflow bucket 數量，新 key 依 hash 分散，不會全部擠在同一個 bucket
+    private int overflowStripes = 1024;
+
+    // 帶 HTTP Basic 的請求（每次都要跑 bcrypt）
+    private Budget auth = new Budget(5, 10);
+
+    // POST /v1/product/{id}/image
+    private Budget upload = new Budget(1, 5);
+
+    // 其他 POST / PUT / DELETE
+    private Budget write = new Budget(10, 20);
+
+    // GET
+    private Budget read = new Budget(50, 100);
+
+    public Budget budgetFor(RateLimitClass rateLimitClass) {
+        return switch (rateLimitClass) {
+            case AUTH -> auth;
+            case UPLOAD -> upload;
+            case WRITE -> write;
+            case READ -> read;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        // 每秒補充的 token 數
+        private double permitsPerSecond;
+        // bucket 容量（可瞬間消耗的最大請求數）
+        private int burst;
+    }
+}
@@ -0,0 +1,88 @@
+package com.chs.webapp.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 以 (端點類別, key) 為單位的速率限制器
+ * key 為 "ip:<address>" 或 "user:<email>"
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitClass, TokenBucket[]> overflowBuckets = new EnumMap<>(RateLimitClass.class);
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+
+        long now = System.nanoTime();
+        int stripes = Math.max(1, properties.getOverflowStripes());
+        for (RateLimitClass rateLimitClass : RateLimitClass.values()) {
+            TokenBucket[] stripedBuckets = new TokenBucket[stripes];
+            for (int i = 0; i < stripes; i++) {
+                stripedBuckets[i] = newBucket(rateLimitClass, now);
+            }
+            overflowBuckets.put(rateLimitClass, stripedBuckets);
+        }
+    }
+
+    /**
+     * @return 0 表示允許；否則為建議等待的奈秒數
+     */
+    public long tryAcquire(RateLimitClass rateLimitClass, String key) {
+        long now = System.nanoTime();
+        return resolveBucket(rateLimitClass, key, now).tryAcquire(now);
+    }
+
+    int trackedKeys() {
+        return buckets.size();
+    }
+
+    private TokenBucket resolveBucket(RateLimitClass rateLimitClass, String key, long now) {
+        String bucketKey = rateLimitClass.name() + ":" + key;
+
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (buckets.size() >= properties.getMaxTrackedKeys()) {
+            sweepIdleBuckets(now);
+            if (buckets.size() >= properties.getMaxTrackedKeys()) {
+                // 追蹤數量已滿：新 key 依 hash 共用其中一個 overflow bucket，寧可誤擋少數 key 也不讓記憶體失控
+                TokenBucket[] stripedBuckets = overflowBuckets.get(rateLimitClass);
+                return stripedBuckets[Math.floorMod(bucketKey.hashCode(), stripedBuckets.length)];
+            }
+        }
+
+        return buckets.computeIfAbsent(bucketKey, k -> newBucket(rateLimitClass, now));
+    }
+
+    private void sweepIdleBuckets(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        log.debug("Rate limiter sweep removed {} idle buckets", before - buckets.size());
+    }
+
+    private TokenBucket newBucket(RateLimitClass rateLimitClass, long now) {
+        RateLimitProperties.Budget budget = properties.budgetFor(rateLimitClass);
+        return new TokenBucket(budget.getPermitsPerSecond(), budget.getBurst(), now);
+    }
+}
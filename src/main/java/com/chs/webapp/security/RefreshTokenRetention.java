@@ -0,0 +1,30 @@
+package com.chs.webapp.security;
+
+import com.chs.webapp.repository.RefreshTokenFamilyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刪除目前 token 已過期的 refresh token family（過期後 refresh token 本身已無法通過驗證）
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenRetention {
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${auth.token.retention-check-interval:PT1H}",
+            initialDelayString = "${auth.token.retention-check-interval:PT1H}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(status -> refreshTokenFamilyRepository.deleteExpiredBefore(now));
+        log.info("Refresh token retention removed {} expired token families", deleted);
+    }
+}
@@ -0,0 +1,68 @@
+package com.chs.webapp.security;
+
+import com.chs.webapp.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Bearer token 認證 - 驗證 HMAC 簽章、到期時間與 UserLookupCache 中的密碼版本，不跑 bcrypt
+ * 沒有 Bearer header 的請求直接交給後面的 HTTP Basic 處理
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 換發 token 必須使用帳密（或 refresh token），不能用 access token 無限續期
+        return request.getRequestURI().startsWith("/v1/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenClaims claims;
+        try {
+            claims = tokenService.verifyAccessToken(header.substring(BEARER_PREFIX.length()).trim());
+        } catch (IllegalArgumentException e) {
+            log.warn("Bearer token rejected: {}", e.getMessage());
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Invalid or expired token\"}");
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        AuthenticatedUser principal = new AuthenticatedUser(claims.userId(), claims.email(), null);
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, principal.getAuthorities()));
+        SecurityContextHolder.setContext(context);
+
+        filterChain.doFilter(request, response);
+    }
+}
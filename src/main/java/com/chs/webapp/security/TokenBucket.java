@@ -0,0 +1,50 @@
+package com.chs.webapp.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 無鎖 token bucket（GCRA 寫法）
+ * 只保存一個「理論到達時間」(TAT)，用 CAS 更新，不需要 synchronized 也不需要背景補充 token
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit budget must have positive rate and burst");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 嘗試取得一個 token
+     * @return 0 表示允許；否則為需要等待的奈秒數
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat - nowNanos > 0 ? tat : nowNanos;
+            long newTat = base + emissionIntervalNanos;
+            long waitNanos = newTat - nowNanos - capacityNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * bucket 已完全補滿 - 移除後重建的行為完全相同，可以安全回收
+     */
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
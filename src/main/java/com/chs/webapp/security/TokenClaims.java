@@ -0,0 +1,18 @@
+package com.chs.webapp.security;
+
+import java.util.UUID;
+
+/**
+ * 已驗證簽章的 token 內容
+ * tokenId / familyId 只有 refresh token 才有（見 RefreshTokenFamily），access token 為 null
+ */
+public record TokenClaims(
+        String email,
+        UUID userId,
+        String type,
+        long issuedAt,
+        long expiresAt,
+        String passwordVersion,
+        UUID tokenId,
+        UUID familyId
+) { }
@@ -0,0 +1,26 @@
+package com.chs.webapp.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Token 認證設定 - 對應 application.properties 中的 auth.token.*
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.token")
+@Data
+public class TokenProperties {
+
+    // HMAC-SHA256 金鑰，至少 32 bytes，所有 instance 必須相同；只有 dev / test profile 可以留空（啟動時產生隨機金鑰）
+    private String secret = "";
+
+    private Duration accessTtl = Duration.ofMinutes(15);
+
+    private Duration refreshTtl = Duration.ofDays(7);
+
+    // 刪除過期 refresh token family 的間隔（RefreshTokenRetention）
+    private Duration retentionCheckInterval = Duration.ofHours(1);
+}
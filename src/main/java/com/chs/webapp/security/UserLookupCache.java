@@ -0,0 +1,48 @@
+package com.chs.webapp.security;
+
+import com.chs.webapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 認證用的使用者快取（email -> id / email / 密碼雜湊 / 密碼版本）
+ * 過了 TTL 的一半後會在背景非同步重新載入，請求不需要等資料庫
+ * 本機的密碼變更會立即 evict；其他 instance 上最多沿用舊雜湊與舊密碼版本（舊 access token 仍可使用）一個 TTL
+ */
+@Component
+@Slf4j
+public class UserLookupCache {
+
+    private final LoadingCache<String, CachedUser> cache;
+
+    public UserLookupCache(UserRepository userRepository,
+                           @Value("${security.user-cache.ttl:30s}") Duration ttl,
+                           @Value("${security.user-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(ttl.dividedBy(2))
+                .build(email -> userRepository.findByEmail(email)
+                        .map(user -> new CachedUser(user.getId(), user.getEmail(), user.getPassword(),
+                                user.getPasswordVersion()))
+                        .orElse(null));
+    }
+
+    public Optional<CachedUser> find(String email) {
+        return Optional.ofNullable(cache.get(email));
+    }
+
+    public void evict(String email) {
+        log.debug("Evicting cached user: {}", email);
+        cache.invalidate(email);
+    }
+
+    public record CachedUser(UUID id, String email, String passwordHash, int passwordVersion) { }
+}
@@ -0,0 +1,42 @@
+package com.chs.webapp.service;
+
+import com.chs.webapp.dto.ChangeEventResponse;
+import com.chs.webapp.dto.ChangeFeedResponse;
+import com.chs.webapp.repository.ChangeEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    private static final int MAX_LIMIT = 1_000;
+
+    private final ChangeEventRepository changeEventRepository;
+
+    /**
+     * 讀取呼叫者自己產品的事件中 offset 大於 after 的部分（依 offset 排序），consumer 自行保存 nextOffset 作為下次的 after
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse read(UUID ownerId, long after, int limit) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must be >= 0");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<ChangeEventResponse> events = changeEventRepository.findPageAfter(ownerId, after, PageRequest.ofSize(limit));
+        long nextOffset = events.isEmpty() ? after : events.get(events.size() - 1).getOffset();
+
+        return ChangeFeedResponse.builder()
+                .events(events)
+                .nextOffset(nextOffset)
+                .build();
+    }
+}
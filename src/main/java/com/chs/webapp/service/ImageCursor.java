@@ -0,0 +1,31 @@
+package com.chs.webapp.service;
+
+import com.chs.webapp.dto.ImageResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 圖片列表的 keyset cursor：最後一筆的 (dateCreated, imageId)，以 base64url 編碼對外不透明
+ */
+record ImageCursor(LocalDateTime dateCreated, UUID imageId) {
+
+    static String encode(ImageResponse last) {
+        String raw = last.getDateCreated() + "|" + last.getImageId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ImageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ImageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,22 +1,31 @@
 package com.chs.webapp.service;
 
+import com.chs.webapp.dto.ImagePage;
 import com.chs.webapp.dto.ImageResponse;
+import com.chs.webapp.dto.ProductImageSummary;
 import com.chs.webapp.entity.Image;
-import com.chs.webapp.entity.Product;
-import com.chs.webapp.entity.User;
+import com.chs.webapp.event.ImageChangedEvent;
+import com.chs.webapp.event.ProductChangedEvent.ChangeType;
 import com.chs.webapp.repository.ImageRepository;
+import com.chs.webapp.repository.ImageRepository.ImageSummaryRow;
 import com.chs.webapp.repository.ProductRepository;
-import com.chs.webapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,8 +34,10 @@ public class ImageService {
 
     private final ImageRepository imageRepository;
     private final ProductRepository productRepository;
-    private final UserRepository userRepository;
     private final S3Service s3Service;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     // 支援的圖片格式
     private static final List<String> ALLOWED_CONTENT_TYPES = Arrays.asList(
@@ -39,35 +50,33 @@ public class ImageService {
      * 上傳圖片到產品
      */
     @Transactional
-    public ImageResponse uploadImage(UUID productId, MultipartFile file, String userEmail) {
-        log.info("Uploading image for product: {}, by user: {}", productId, userEmail);
+    public ImageResponse uploadImage(UUID productId, MultipartFile file, UUID userId) {
+        log.info("Uploading image for product: {}, by user: {}", productId, userId);
 
         // 1. 驗證檔案類型
         validateImageFile(file);
 
-        // 2. 驗證產品存在
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + productId));
-
-        // 3. 驗證使用者是產品擁有者
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
-
-        if (!product.getOwner().getId().equals(user.getId())) {
+        // 2. 以單一查詢驗證產品存在且屬於使用者（user id 來自認證後的 principal），失敗時才區分 404 / 403
+        if (!productRepository.existsByIdAndOwnerId(productId, userId)) {
+            if (!productRepository.existsById(productId)) {
+                throw new IllegalArgumentException("Product not found with id: " + productId);
+            }
             throw new IllegalArgumentException("Access denied: You can only upload images to your own products");
         }
 
-        // 4. 上傳到 S3
-        String s3Key = s3Service.uploadFile(file, user.getId(), productId);
+        // 4. 上傳到 S3；交易沒有 commit（例如關閉時 datasource 已停止）就刪除剛上傳的物件，不留下孤兒
+        String s3Key = s3Service.uploadFile(file, userId, productId);
+        deleteOnRollback(s3Key);
 
-        // 5. 儲存 metadata 到資料庫
+        // 5. 儲存 metadata 到資料庫（product 使用參照，不需要 SELECT）
         Image image = Image.builder()
-                .product(product)
+                .product(productRepository.getReferenceById(productId))
                 .fileName(file.getOriginalFilename())
                 .s3BucketPath(s3Key)
                 .build();
 
         image = imageRepository.save(image);
+        eventPublisher.publishEvent(new ImageChangedEvent(ChangeType.CREATED, image.getImageId(), productId, userId));
 
         log.info("Image uploaded successfully: imageId={}, s3Key={}", image.getImageId(), s3Key);
 
@@ -75,21 +84,59 @@ public class ImageService {
     }
 
     /**
-     * 取得產品的所有圖片
+     * 取得產品的圖片（依上傳時間排序，keyset 分頁）
+     * 直接查詢 DTO 不載入 entity；只有結果為空時才檢查產品是否存在
      */
     @Transactional(readOnly = true)
-    public List<ImageResponse> getProductImages(UUID productId) {
+    public ImagePage getProductImages(UUID productId, String cursor, int limit) {
         log.info("Getting images for product: {}", productId);
 
-        // 驗證產品存在
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + productId));
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
 
-        List<Image> images = imageRepository.findByProduct(product);
+        // 多取一筆判斷是否還有下一頁
+        Pageable pageable = PageRequest.ofSize(limit + 1);
+        List<ImageResponse> images;
+        if (cursor == null || cursor.isBlank()) {
+            images = imageRepository.findPageByProductId(productId, pageable);
+        } else {
+            ImageCursor after = ImageCursor.decode(cursor);
+            images = imageRepository.findPageByProductIdAfter(productId, after.dateCreated(), after.imageId(), pageable);
+        }
 
-        return images.stream()
-                .map(ImageResponse::from)
-                .collect(Collectors.toList());
+        if (images.isEmpty() && !productRepository.existsById(productId)) {
+            throw new IllegalArgumentException("Product not found with id: " + productId);
+        }
+
+        boolean hasNext = images.size() > limit;
+        List<ImageResponse> page = hasNext ? images.subList(0, limit) : images;
+        String nextCursor = hasNext ? ImageCursor.encode(page.get(page.size() - 1)) : null;
+
+        return ImagePage.builder()
+                .items(page)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 使用者所有產品的圖片摘要（總數 + 前 N 張），以單一查詢取得，每個產品最多讀取 N 張（至少 1 張）
+     * 沒有圖片的產品不在結果中，由呼叫端視為 0 張
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, ProductImageSummary> getImageSummariesByOwner(UUID ownerId, int limitPerProduct) {
+        Map<UUID, ProductImageSummary> summaries = new HashMap<>();
+        for (ImageSummaryRow row : imageRepository.findSummaryRowsByOwnerId(ownerId, limitPerProduct)) {
+            ProductImageSummary summary = summaries.computeIfAbsent(row.getProductId(), productId -> ProductImageSummary.builder()
+                    .count(Math.toIntExact(row.getImageCount()))
+                    .items(new ArrayList<>())
+                    .build());
+            if (row.getImageIndex() <= limitPerProduct) {
+                summary.getItems().add(new ImageResponse(row.getImageId(), row.getProductId(), row.getFileName(),
+                        row.getDateCreated(), row.getS3BucketPath()));
+            }
+        }
+        return summaries;
     }
 
     /**
@@ -99,80 +146,98 @@ public class ImageService {
     public ImageResponse getImageById(UUID productId, UUID imageId) {
         log.info("Getting image: imageId={}, productId={}", imageId, productId);
 
-        Image image = imageRepository.findById(imageId)
-                .orElseThrow(() -> new IllegalArgumentException("Image not found with id: " + imageId));
-
-        // 驗證圖片屬於指定的產品
-        if (!image.getProduct().getId().equals(productId)) {
-            throw new IllegalArgumentException("Image does not belong to the specified product");
-        }
-
-        return ImageResponse.from(image);
+        // 查詢條件已包含產品；查不到時才區分「圖片不存在」與「不屬於該產品」
+        return imageRepository.findResponseByIdAndProductId(imageId, productId).orElseThrow(() -> {
+            if (!imageRepository.existsById(imageId)) {
+                return new IllegalArgumentException("Image not found with id: " + imageId);
+            }
+            return new IllegalArgumentException("Image does not belong to the specified product");
+        });
     }
 
     /**
      * 刪除圖片
      */
     @Transactional
-    public void deleteImage(UUID productId, UUID imageId, String userEmail) {
-        log.info("Deleting image: imageId={}, productId={}, user={}", imageId, productId, userEmail);
-
-        // 1. 查找圖片
-        Image image = imageRepository.findById(imageId)
-                .orElseThrow(() -> new IllegalArgumentException("Image not found with id: " + imageId));
-
-        // 2. 驗證圖片屬於指定的產品
-        if (!image.getProduct().getId().equals(productId)) {
-            throw new IllegalArgumentException("Image does not belong to the specified product");
-        }
+    public void deleteImage(UUID productId, UUID imageId, UUID userId) {
+        log.info("Deleting image: imageId={}, productId={}, user={}", imageId, productId, userId);
 
-        // 3. 驗證使用者是產品擁有者
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
+        // 1. 單一查詢同時驗證圖片存在、屬於指定產品、產品屬於使用者
+        String s3Key = imageRepository.findS3BucketPathOwnedBy(imageId, productId, userId)
+                .orElseThrow(() -> explainImageAccessFailure(productId, imageId));
 
-        if (!image.getProduct().getOwner().getId().equals(user.getId())) {
-            throw new IllegalArgumentException("Access denied: You can only delete images from your own products");
-        }
-
-        // 4. 從 S3 刪除檔案
+        // 2. 從 S3 刪除檔案
         try {
-            s3Service.deleteFile(image.getS3BucketPath());
+            s3Service.deleteFile(s3Key);
         } catch (Exception e) {
-            log.error("Failed to delete file from S3: {}", image.getS3BucketPath(), e);
+            log.error("Failed to delete file from S3: {}", s3Key, e);
             // 即使 S3 刪除失敗，仍然刪除資料庫記錄
         }
 
-        // 5. 從資料庫刪除記錄
-        imageRepository.delete(image);
+        // 3. 從資料庫刪除記錄
+        imageRepository.deleteByImageId(imageId);
+        eventPublisher.publishEvent(new ImageChangedEvent(ChangeType.DELETED, imageId, productId, userId));
 
         log.info("Image deleted successfully: imageId={}", imageId);
     }
 
     /**
-     * 刪除產品的所有圖片（當產品被刪除時呼叫）
+     * 刪除產品的所有圖片（當產品被刪除時呼叫，呼叫端已驗證擁有者）
      */
     @Transactional
     public void deleteProductImages(UUID productId) {
         log.info("Deleting all images for product: {}", productId);
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + productId));
-
-        List<Image> images = imageRepository.findByProduct(product);
+        List<String> s3Keys = imageRepository.findS3BucketPathsByProductId(productId);
+        if (s3Keys.isEmpty()) {
+            return;
+        }
 
         // 刪除所有 S3 檔案
-        for (Image image : images) {
+        for (String s3Key : s3Keys) {
             try {
-                s3Service.deleteFile(image.getS3BucketPath());
+                s3Service.deleteFile(s3Key);
             } catch (Exception e) {
-                log.error("Failed to delete file from S3: {}", image.getS3BucketPath(), e);
+                log.error("Failed to delete file from S3: {}", s3Key, e);
             }
         }
 
-        // 刪除所有資料庫記錄
-        imageRepository.deleteByProduct(product);
+        // 刪除所有資料庫記錄（單一 DELETE）
+        int deleted = imageRepository.deleteAllByProductId(productId);
 
-        log.info("Deleted {} images for product: {}", images.size(), productId);
+        log.info("Deleted {} images for product: {}", deleted, productId);
+    }
+
+    /**
+     * 授權查詢沒有結果時才執行：找出原因以回傳正確的錯誤（404 / 400 / 403）
+     */
+    private IllegalArgumentException explainImageAccessFailure(UUID productId, UUID imageId) {
+        Image image = imageRepository.findById(imageId).orElse(null);
+
+        if (image == null) {
+            return new IllegalArgumentException("Image not found with id: " + imageId);
+        }
+        if (!image.getProduct().getId().equals(productId)) {
+            return new IllegalArgumentException("Image does not belong to the specified product");
+        }
+        return new IllegalArgumentException("Access denied: You can only delete images from your own products");
+    }
+
+    private void deleteOnRollback(String s3Key) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                log.warn("Image transaction did not commit, deleting uploaded S3 object: {}", s3Key);
+                try {
+                    s3Service.deleteFile(s3Key);
+                } catch (Exception e) {
+                    log.error("Failed to delete orphaned S3 object: {}", s3Key, e);
+                }
+            }
+        });
     }
 
     /**
@@ -1,33 +1,75 @@
 package com.chs.webapp.service;
 
+import com.chs.webapp.dto.ProductBatchGetResponse;
 import com.chs.webapp.dto.ProductCreateRequest;
+import com.chs.webapp.dto.ProductImageSummary;
 import com.chs.webapp.dto.ProductResponse;
+import com.chs.webapp.dto.ProductSearchResponse;
 import com.chs.webapp.dto.ProductUpdateRequest;
+import com.chs.webapp.dto.StreamingList;
 import com.chs.webapp.entity.Product;
-import com.chs.webapp.entity.User;
+import com.chs.webapp.event.ProductChangedEvent;
+import com.chs.webapp.event.ProductChangedEvent.ChangeType;
 import com.chs.webapp.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final UserService userService;
     private final ImageService imageService;
+    private final SkuIndex skuIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxBatchGetIds;
+
+    public ProductService(ProductRepository productRepository, UserService userService, ImageService imageService,
+                          SkuIndex skuIndex, ApplicationEventPublisher eventPublisher, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${product.batch-get.max-ids:100}") int maxBatchGetIds) {
+        this.productRepository = productRepository;
+        this.userService = userService;
+        this.imageService = imageService;
+        this.skuIndex = skuIndex;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        // 列表回應在序列化時才讀取，此時已離開 controller 呼叫的 service 方法，交易由 template 開啟
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxBatchGetIds = maxBatchGetIds;
+    }
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_EMBEDDED_IMAGES = 10;
+    private static final ProductImageSummary EMPTY_IMAGE_SUMMARY = ProductImageSummary.builder().count(0).items(List.of()).build();
 
     @Transactional
-    public ProductResponse createProduct(ProductCreateRequest request, String authenticatedEmail) {
-        log.info("Creating product with SKU: {} for user: {}", request.getSku(), authenticatedEmail);
+    public ProductResponse createProduct(ProductCreateRequest request, UUID authenticatedUserId) {
+        log.info("Creating product with SKU: {} for user: {}", request.getSku(), authenticatedUserId);
 
-        if (productRepository.existsBySku(request.getSku())) {
+        if (isSkuTaken(request.getSku())) {
             throw new IllegalArgumentException("Product with SKU " + request.getSku() + " already exists");
         }
 
@@ -37,21 +79,74 @@ public class ProductService {
                 .sku(request.getSku())
                 .manufacturer(request.getManufacturer())
                 .quantity(request.getQuantity())
-                .owner(userService.findByEmail(authenticatedEmail))
+                .owner(userService.getReference(authenticatedUserId))
                 .build();
 
-        Product savedProduct = productRepository.saveAndFlush(product);
+        Product savedProduct = saveAndFlushUniqueSku(product);
         Product refreshedProduct = productRepository.findById(savedProduct.getId())
                 .orElse(savedProduct);
 
+        eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.CREATED,
+                refreshedProduct.getId(), authenticatedUserId, refreshedProduct.getSku(), null));
         return mapToResponse(refreshedProduct);
     }
 
+    /**
+     * 以 SKU 取得產品：先查記憶體索引，查不到或索引過期時回頭查資料庫
+     */
     @Transactional(readOnly = true)
-    public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::mapToResponse)
+    public ProductResponse getProductBySku(String sku) {
+        Optional<UUID> indexedId = skuIndex.lookup(sku);
+
+        if (indexedId.isPresent()) {
+            Optional<Product> indexed = productRepository.findById(indexedId.get())
+                    .filter(product -> product.getSku().equals(sku));
+            if (indexed.isPresent()) {
+                return mapToResponse(indexed.get());
+            }
+            skuIndex.remove(sku, indexedId.get());
+        }
+
+        Product product = productRepository.findBySku(sku)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with SKU: " + sku));
+        skuIndex.put(product.getSku(), product.getId());
+
+        return mapToResponse(product);
+    }
+
+    /**
+     * 批次取得產品：一次查詢載入全部（已在快取中的不會重查），結果依請求順序回傳，找不到的標示 found=false
+     */
+    @Transactional(readOnly = true)
+    public ProductBatchGetResponse getProductsByIds(List<UUID> ids) {
+        if (ids.size() > maxBatchGetIds) {
+            throw new IllegalArgumentException("At most " + maxBatchGetIds + " ids can be requested at once");
+        }
+
+        Map<UUID, Product> productsById = new HashMap<>();
+        for (Product product : productRepository.findAllByIdsUsingCache(new LinkedHashSet<>(ids))) {
+            productsById.put(product.getId(), product);
+        }
+
+        List<ProductBatchGetResponse.Item> items = ids.stream()
+                .map(id -> {
+                    Product product = productsById.get(id);
+                    return ProductBatchGetResponse.Item.builder()
+                            .id(id)
+                            .found(product != null)
+                            .product(product != null ? mapToResponse(product) : null)
+                            .build();
+                })
                 .toList();
+
+        return ProductBatchGetResponse.builder().items(items).build();
+    }
+
+    /**
+     * 回傳序列化時才讀取的列表：寫出 body 時在唯讀交易中以 cursor 逐筆讀取、轉成 DTO 後立即寫出並 detach
+     */
+    public StreamingList<ProductResponse> getAllProducts() {
+        return streamProducts(productRepository::streamAll, this::mapToResponse);
     }
 
     @Transactional(readOnly = true)
@@ -62,23 +157,80 @@ public class ProductService {
         return mapToResponse(product);
     }
 
+    /**
+     * 產品搜尋：q 為全文搜尋（name / description / manufacturer），sku 為 SKU 前綴查詢，二擇一
+     */
     @Transactional(readOnly = true)
-    public List<ProductResponse> getProductsByUser(String authenticatedEmail) {
-        User owner = userService.findByEmail(authenticatedEmail);
-        return productRepository.findByOwner(owner).stream()
-                .map(this::mapToResponse)
-                .toList();
+    public ProductSearchResponse searchProducts(String query, String skuPrefix, int page, int size) {
+        boolean hasQuery = query != null && !query.isBlank();
+        boolean hasSkuPrefix = skuPrefix != null && !skuPrefix.isBlank();
+
+        if (hasQuery == hasSkuPrefix) {
+            throw new IllegalArgumentException("Exactly one of 'q' or 'sku' must be provided");
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        // 多取一筆判斷是否還有下一頁，不需要額外的 COUNT 查詢
+        long offset = (long) page * size;
+        List<Product> products;
+        if (hasQuery) {
+            String trimmed = query.trim();
+            if (trimmed.length() > MAX_SEARCH_QUERY_LENGTH) {
+                throw new IllegalArgumentException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+            }
+            products = productRepository.searchFullText(trimmed, size + 1, offset);
+        } else {
+            products = productRepository.searchBySkuPrefix(toPrefixPattern(skuPrefix.trim()), size + 1, offset);
+        }
+
+        boolean hasNext = products.size() > size;
+        return ProductSearchResponse.builder()
+                .items(products.stream().limit(size).map(this::mapToResponse).toList())
+                .page(page)
+                .size(size)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    public StreamingList<ProductResponse> getProductsByUser(UUID authenticatedUserId) {
+        return getProductsByUser(authenticatedUserId, false, 0);
+    }
+
+    /**
+     * 使用者的產品列表，可選擇附帶圖片摘要（所有產品的圖片以一次查詢取得，避免 1 + N 次請求）
+     * 參數在這裡驗證，回應開始寫出後才逐筆讀取產品
+     */
+    public StreamingList<ProductResponse> getProductsByUser(UUID authenticatedUserId, boolean includeImages, int imagesPerProduct) {
+        if (includeImages && (imagesPerProduct < 0 || imagesPerProduct > MAX_EMBEDDED_IMAGES)) {
+            throw new IllegalArgumentException("imagesPerProduct must be between 0 and " + MAX_EMBEDDED_IMAGES);
+        }
+
+        if (!includeImages) {
+            return streamProducts(() -> productRepository.streamByOwnerId(authenticatedUserId), this::mapToResponse);
+        }
+
+        // 摘要在同一個唯讀交易中、讀取產品之前查詢
+        return streamProducts(() -> productRepository.streamByOwnerId(authenticatedUserId), () -> {
+            Map<UUID, ProductImageSummary> summaries = imageService.getImageSummariesByOwner(authenticatedUserId, imagesPerProduct);
+            return product -> {
+                ProductResponse response = mapToResponse(product);
+                response.setImages(summaries.getOrDefault(product.getId(), EMPTY_IMAGE_SUMMARY));
+                return response;
+            };
+        });
     }
 
     @Transactional
-    public ProductResponse updateProduct(UUID productId, ProductUpdateRequest request, String authenticatedEmail) {
-        log.info("Updating product with ID: {} for user: {}", productId, authenticatedEmail);
+    public ProductResponse updateProduct(UUID productId, ProductUpdateRequest request, UUID authenticatedUserId) {
+        log.info("Updating product with ID: {} for user: {}", productId, authenticatedUserId);
 
-        User authenticatedUser = userService.findByEmail(authenticatedEmail);
-        Product product = productRepository.findByIdAndOwner(productId, authenticatedUser)
+        Product product = productRepository.findByIdAndOwnerId(productId, authenticatedUserId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found or access denied"));
 
         boolean updated = false;
+        String previousSku = product.getSku();
 
         if (request.getName() != null && !request.getName().trim().isEmpty()) {
             product.setName(request.getName().trim());
@@ -91,7 +243,7 @@ public class ProductService {
         }
 
         if (request.getSku() != null && !request.getSku().trim().isEmpty()) {
-            if(!request.getSku().equals(product.getSku()) && productRepository.existsBySku(request.getSku())) {
+            if(!request.getSku().equals(product.getSku()) && isSkuTaken(request.getSku())) {
                 throw new IllegalArgumentException("Product with SKU " + request.getSku() + " already exists");
             }
             product.setSku(request.getSku().trim());
@@ -112,35 +264,86 @@ public class ProductService {
             throw new IllegalArgumentException("No valid fields provided for update");
         }
 
-        Product savedProduct = productRepository.saveAndFlush(product);
+        Product savedProduct = saveAndFlushUniqueSku(product);
         Product refreshedProduct = productRepository.findById(savedProduct.getId()).orElse(savedProduct);
 
+        eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED, refreshedProduct.getId(), authenticatedUserId,
+                refreshedProduct.getSku(), previousSku.equals(refreshedProduct.getSku()) ? null : previousSku));
+
         log.info("Product updated successfully with ID: {}", refreshedProduct.getId());
         return mapToResponse(refreshedProduct);
     }
 
     @Transactional
-    public void deleteProduct(UUID id, String authenticatedEmail) {
+    public void deleteProduct(UUID id, UUID authenticatedUserId) {
         log.info("Deleting product with ID: {}", id);
 
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
-
-        User authenticatedUser = userService.findByEmail(authenticatedEmail);
-
-        if (!product.getOwner().getId().equals(authenticatedUser.getId())) {
-            throw new IllegalArgumentException("Access denied: You can only delete your own products");
-        }
+        // 以單一查詢驗證擁有者（同時取回 SKU），失敗時才多查一次區分 404 / 403
+        String sku = productRepository.findSkuByIdAndOwnerId(id, authenticatedUserId).orElseThrow(() -> {
+            if (!productRepository.existsById(id)) {
+                return new IllegalArgumentException("Product not found with id: " + id);
+            }
+            return new IllegalArgumentException("Access denied: You can only delete your own products");
+        });
 
         // 先刪除所有相關的圖片
         imageService.deleteProductImages(id);
 
-        // 再刪除產品
-        productRepository.delete(product);
+        // 再刪除產品（條件包含 owner，不需要先載入 entity）
+        productRepository.deleteByIdAndOwnerId(id, authenticatedUserId);
+        eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.DELETED, id, authenticatedUserId, sku, null));
 
         log.info("Product deleted successfully: {}", id);
     }
 
+    /**
+     * SKU 索引確定不存在時直接略過資料庫查詢；索引命中時以資料庫確認（可能已被其他 instance 刪除）
+     */
+    private boolean isSkuTaken(String sku) {
+        return !skuIndex.isKnownAbsent(sku) && productRepository.existsBySku(sku);
+    }
+
+    /**
+     * 索引可能不知道其他 instance 剛建立的 SKU，最後以資料庫 unique constraint 把關
+     */
+    private Product saveAndFlushUniqueSku(Product product) {
+        try {
+            return productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Product with SKU " + product.getSku() + " already exists");
+        }
+    }
+
+    private StreamingList<ProductResponse> streamProducts(Supplier<Stream<Product>> query,
+                                                          Function<Product, ProductResponse> mapper) {
+        return streamProducts(query, () -> mapper);
+    }
+
+    /**
+     * 序列化時才開啟唯讀交易走訪 Stream；每筆轉成 DTO 寫出後即 detach，persistence context 不會隨筆數成長
+     */
+    private StreamingList<ProductResponse> streamProducts(Supplier<Stream<Product>> query,
+                                                          Supplier<Function<Product, ProductResponse>> mapperFactory) {
+        return new StreamingList<>(sink -> readOnlyTransaction.executeWithoutResult(status -> {
+            Function<Product, ProductResponse> mapper = mapperFactory.get();
+            try (Stream<Product> products = query.get()) {
+                products.forEach(product -> {
+                    ProductResponse response = mapper.apply(product);
+                    entityManager.detach(product);
+                    sink.accept(response);
+                });
+            }
+        }));
+    }
+
+    private static String toPrefixPattern(String prefix) {
+        String escaped = prefix.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
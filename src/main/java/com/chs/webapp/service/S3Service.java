@@ -1,7 +1,10 @@
 package com.chs.webapp.service;
 
+import com.chs.webapp.shutdown.InFlightS3Operations;
+import com.chs.webapp.storage.S3KeyStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
@@ -17,10 +20,19 @@ public class S3Service {
 
     private final S3Client s3Client;
     private final String bucketName;
+    private final InFlightS3Operations inFlight;
+    private final S3KeyStrategy keyStrategy;
 
-    public S3Service(S3Client s3Client, @Value("${aws.s3.bucket-name}") String bucketName) {
+    /**
+     * S3Client 在第一次上傳 / 刪除時才建立：AWS SDK 初始化要載入大量類別，不放在啟動路徑上
+     * 每個操作都登記在 InFlightS3Operations，關閉時會等它們完成
+     */
+    public S3Service(@Lazy S3Client s3Client, @Value("${aws.s3.bucket-name}") String bucketName,
+                     InFlightS3Operations inFlight, S3KeyStrategy keyStrategy) {
         this.s3Client = s3Client;
         this.bucketName = bucketName;
+        this.inFlight = inFlight;
+        this.keyStrategy = keyStrategy;
     }
 
     /**
@@ -28,14 +40,11 @@ public class S3Service {
      * @param file 要上傳的檔案
      * @param userId 使用者 ID (用於分區儲存)
      * @param productId 產品 ID
-     * @return S3 物件的完整路徑
+     * @return S3 物件的完整路徑（格式見 S3KeyStrategy）
      */
     public String uploadFile(MultipartFile file, UUID userId, UUID productId) {
-        try {
-            // 生成唯一的 S3 key: userId/productId/timestamp-originalFilename
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            String originalFilename = file.getOriginalFilename();
-            String s3Key = String.format("%s/%s/%s-%s", userId, productId, timestamp, originalFilename);
+        try (InFlightS3Operations.Operation ignored = inFlight.begin()) {
+            String s3Key = keyStrategy.newImageKey(userId, productId, file.getOriginalFilename());
 
             log.info("Uploading file to S3: bucket={}, key={}", bucketName, s3Key);
 
@@ -60,12 +69,36 @@ public class S3Service {
         }
     }
 
+    /**
+     * 在同一個 bucket 內複製物件（S3KeyMigrator 搬移 key 用）
+     * @param sourceKey 來源 key
+     * @param targetKey 目的 key
+     */
+    public void copyFile(String sourceKey, String targetKey) {
+        try (InFlightS3Operations.Operation ignored = inFlight.begin()) {
+            log.info("Copying file in S3: bucket={}, from={}, to={}", bucketName, sourceKey, targetKey);
+
+            CopyObjectRequest copyObjectRequest = CopyObjectRequest.builder()
+                    .sourceBucket(bucketName)
+                    .sourceKey(sourceKey)
+                    .destinationBucket(bucketName)
+                    .destinationKey(targetKey)
+                    .build();
+
+            s3Client.copyObject(copyObjectRequest);
+
+        } catch (S3Exception e) {
+            log.error("Error copying file in S3: {}", e.awsErrorDetails().errorMessage());
+            throw new RuntimeException("Failed to copy file in S3: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 從 S3 刪除檔案
      * @param s3Key S3 物件的 key
      */
     public void deleteFile(String s3Key) {
-        try {
+        try (InFlightS3Operations.Operation ignored = inFlight.begin()) {
             log.info("Deleting file from S3: bucket={}, key={}", bucketName, s3Key);
 
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
@@ -89,7 +122,7 @@ public class S3Service {
      * @return 檔案是否存在
      */
     public boolean fileExists(String s3Key) {
-        try {
+        try (InFlightS3Operations.Operation ignored = inFlight.begin()) {
             HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
                     .bucket(bucketName)
                     .key(s3Key)
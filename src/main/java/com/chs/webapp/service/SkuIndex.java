@@ -0,0 +1,93 @@
+package com.chs.webapp.service;
+
+import com.chs.webapp.event.ProductChangedEvent;
+import com.chs.webapp.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 記憶體中的 SKU -> product id 索引
+ * 啟動時載入，之後由產品異動事件（commit 後）同步；資料庫的 unique constraint 仍是唯一的依據：
+ * - 索引查不到：可能是其他 instance 新增的，呼叫端要回頭查資料庫
+ * - 索引查得到：可能已被其他 instance 刪除或改名，呼叫端要確認
+ */
+@Component
+@Slf4j
+public class SkuIndex {
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final Map<String, UUID> skuToId = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public SkuIndex(ProductRepository productRepository,
+                    @Value("${product.sku-index.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (Stream<ProductRepository.SkuView> rows = productRepository.streamAllSkus()) {
+            rows.forEach(row -> skuToId.putIfAbsent(row.getSku(), row.getId()));
+        }
+        loaded = true;
+
+        log.info("SKU index loaded: {} entries in {} ms", skuToId.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return 索引載入完成前一律回傳 empty
+     */
+    public Optional<UUID> lookup(String sku) {
+        return loaded ? Optional.ofNullable(skuToId.get(sku)) : Optional.empty();
+    }
+
+    /**
+     * 索引已載入且查無此 SKU 時回傳 true - 此時可以跳過資料庫的 existsBySku
+     */
+    public boolean isKnownAbsent(String sku) {
+        return loaded && !skuToId.containsKey(sku);
+    }
+
+    public void put(String sku, UUID productId) {
+        if (enabled) {
+            skuToId.put(sku, productId);
+        }
+    }
+
+    public void remove(String sku, UUID productId) {
+        skuToId.remove(sku, productId);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> put(event.sku(), event.productId());
+            case UPDATED -> {
+                if (event.previousSku() != null) {
+                    remove(event.previousSku(), event.productId());
+                }
+                put(event.sku(), event.productId());
+            }
+            case DELETED -> remove(event.sku(), event.productId());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.chs.webapp.service;
+
+import com.chs.webapp.dto.TokenResponse;
+import com.chs.webapp.entity.User;
+import com.chs.webapp.entity.RefreshTokenFamily;
+import com.chs.webapp.repository.RefreshTokenFamilyRepository;
+import com.chs.webapp.security.TokenClaims;
+import com.chs.webapp.security.TokenProperties;
+import com.chs.webapp.security.UserLookupCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 簽發與驗證 HMAC-SHA256 JWT
+ * access token 短效，驗證時對照 UserLookupCache 中的密碼版本（所有 instance 共用 users.password_version，最多延遲一個快取 TTL）
+ * refresh token 每次使用都換成新的一個（RefreshTokenFamily），換發時對照資料庫中的密碼版本
+ */
+@Service
+@Slf4j
+public class TokenService {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    // cds-training 只啟動到 context refresh、s3-key-migration 不啟動 web server，兩者都不會簽發 token
+    private static final Profiles RANDOM_SECRET_PROFILES = Profiles.of("dev", "test", "cds-training", "s3-key-migration");
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+    private static final String ENCODED_HEADER = BASE64_URL.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final TokenProperties tokenProperties;
+    private final UserLookupCache userLookupCache;
+    private final UserService userService;
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadLocal<Mac> mac;
+
+    public TokenService(ObjectMapper objectMapper, TokenProperties tokenProperties, UserLookupCache userLookupCache,
+                        UserService userService, RefreshTokenFamilyRepository refreshTokenFamilyRepository,
+                        TransactionTemplate transactionTemplate, Environment environment) {
+        this.objectMapper = objectMapper;
+        this.tokenProperties = tokenProperties;
+        this.userLookupCache = userLookupCache;
+        this.userService = userService;
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        SecretKeySpec key = new SecretKeySpec(resolveSecret(tokenProperties.getSecret(), environment), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * 帳密驗證成功後簽發 access + refresh token，refresh token 開始一個新的 family
+     */
+    public TokenResponse issueTokenPair(User user) {
+        long now = Instant.now().getEpochSecond();
+        UUID familyId = UUID.randomUUID();
+        UUID tokenId = UUID.randomUUID();
+
+        refreshTokenFamilyRepository.save(RefreshTokenFamily.builder()
+                .familyId(familyId)
+                .userId(user.getId())
+                .currentTokenId(tokenId)
+                .expiresAt(refreshExpiresAt(now))
+                .build());
+        return signTokenPair(user, familyId, tokenId, now);
+    }
+
+    /**
+     * 使用 refresh token 換發新的 token pair，舊 refresh token 隨即失效（rotation）
+     * 已換發過的 refresh token 再次出現時撤銷整個 family；密碼變更後舊 refresh token 也會失效
+     */
+    public TokenResponse refresh(String refreshToken) {
+        TokenClaims claims = verify(refreshToken, TYPE_REFRESH);
+        if (claims.tokenId() == null || claims.familyId() == null) {
+            throw new IllegalArgumentException("Invalid token: malformed");
+        }
+
+        User user = userService.findByEmail(claims.email());
+        if (!passwordVersion(user).equals(claims.passwordVersion())) {
+            throw new IllegalArgumentException("Invalid token: credentials have changed");
+        }
+
+        long now = Instant.now().getEpochSecond();
+        UUID nextTokenId = UUID.randomUUID();
+        Integer rotated = transactionTemplate.execute(status -> refreshTokenFamilyRepository.rotate(
+                claims.familyId(), claims.tokenId(), nextTokenId, refreshExpiresAt(now)));
+        if (rotated == null || rotated == 0) {
+            // 簽章有效但不是目前的 token：可能已被竊取並搶先使用，合法持有人與攻擊者都必須重新登入
+            transactionTemplate.executeWithoutResult(status -> refreshTokenFamilyRepository.revoke(claims.familyId()));
+            log.warn("Refresh token reuse detected, revoked token family {} for user {}", claims.familyId(), claims.email());
+            throw new IllegalArgumentException("Invalid token: refresh token already used or revoked");
+        }
+
+        return signTokenPair(user, claims.familyId(), nextTokenId, now);
+    }
+
+    /**
+     * 密碼變更後舊密碼版本的 access token 失效；使用者已刪除時同樣拒絕
+     */
+    public TokenClaims verifyAccessToken(String token) {
+        TokenClaims claims = verify(token, TYPE_ACCESS);
+        boolean current = userLookupCache.find(claims.email())
+                .map(user -> Integer.toString(user.passwordVersion()).equals(claims.passwordVersion()))
+                .orElse(false);
+        if (!current) {
+            throw new IllegalArgumentException("Invalid token: revoked");
+        }
+        return claims;
+    }
+
+    /**
+     * 使用者的密碼版本 - 只在使用者變更密碼時遞增，舊 token 隨之失效
+     * 不以密碼雜湊計算：登入時的重新雜湊（調整雜湊參數）不應讓 refresh token 失效
+     */
+    public static String passwordVersion(User user) {
+        return Integer.toString(user.getPasswordVersion());
+    }
+
+    private TokenResponse signTokenPair(User user, UUID familyId, UUID refreshTokenId, long now) {
+        String passwordVersion = passwordVersion(user);
+
+        Map<String, Object> access = payload(user, TYPE_ACCESS, passwordVersion, now, tokenProperties.getAccessTtl().toSeconds());
+        Map<String, Object> refresh = payload(user, TYPE_REFRESH, passwordVersion, now, tokenProperties.getRefreshTtl().toSeconds());
+        refresh.put("jti", refreshTokenId.toString());
+        refresh.put("fam", familyId.toString());
+
+        return TokenResponse.builder()
+                .accessToken(sign(access))
+                .refreshToken(sign(refresh))
+                .tokenType("Bearer")
+                .expiresIn(tokenProperties.getAccessTtl().toSeconds())
+                .build();
+    }
+
+    private LocalDateTime refreshExpiresAt(long now) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(now + tokenProperties.getRefreshTtl().toSeconds()),
+                ZoneId.systemDefault());
+    }
+
+    private static Map<String, Object> payload(User user, String type, String passwordVersion, long issuedAt, long ttlSeconds) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", user.getEmail());
+        payload.put("uid", user.getId().toString());
+        payload.put("typ", type);
+        payload.put("pwv", passwordVersion);
+        payload.put("iat", issuedAt);
+        payload.put("exp", issuedAt + ttlSeconds);
+        return payload;
+    }
+
+    private String sign(Map<String, Object> payload) {
+        try {
+            String signingInput = ENCODED_HEADER + "." + BASE64_URL.encodeToString(objectMapper.writeValueAsBytes(payload));
+            return signingInput + "." + BASE64_URL.encodeToString(hmac(signingInput));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize token payload", e);
+        }
+    }
+
+    private TokenClaims verify(String token, String expectedType) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3 || !ENCODED_HEADER.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid token: malformed");
+        }
+
+        if (!MessageDigest.isEqual(hmac(parts[0] + "." + parts[1]), decode(parts[2]))) {
+            throw new IllegalArgumentException("Invalid token: bad signature");
+        }
+
+        TokenClaims claims = parseClaims(decode(parts[1]));
+        if (!expectedType.equals(claims.type())) {
+            throw new IllegalArgumentException("Invalid token: wrong token type");
+        }
+        if (claims.expiresAt() <= Instant.now().getEpochSecond()) {
+            throw new IllegalArgumentException("Invalid token: expired");
+        }
+        return claims;
+    }
+
+    private TokenClaims parseClaims(byte[] json) {
+        try {
+            Map<String, Object> payload = objectMapper.readValue(json, new TypeReference<>() { });
+            return new TokenClaims(
+                    (String) payload.get("sub"),
+                    UUID.fromString((String) payload.get("uid")),
+                    (String) payload.get("typ"),
+                    ((Number) payload.get("iat")).longValue(),
+                    ((Number) payload.get("exp")).longValue(),
+                    (String) payload.get("pwv"),
+                    optionalUuid(payload.get("jti")),
+                    optionalUuid(payload.get("fam")));
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid token: malformed");
+        }
+    }
+
+    private static UUID optionalUuid(Object value) {
+        return value == null ? null : UUID.fromString((String) value);
+    }
+
+    private static byte[] decode(String segment) {
+        try {
+            return BASE64_URL_DECODER.decode(segment);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid token: malformed");
+        }
+    }
+
+    private byte[] hmac(String signingInput) {
+        return mac.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 沒有設定金鑰時只有 RANDOM_SECRET_PROFILES 可以使用隨機金鑰；其他環境（多台 instance）每台的金鑰不同，
+     * token 會依負載平衡到的 instance 隨機 401，因此直接啟動失敗
+     */
+    private static byte[] resolveSecret(String secret, Environment environment) {
+        if (secret == null || secret.isBlank()) {
+            if (!environment.acceptsProfiles(RANDOM_SECRET_PROFILES)) {
+                throw new IllegalStateException("auth.token.secret (TOKEN_SECRET) must be set; a random per-process key "
+                        + "is only allowed with the dev or test profile");
+            }
+            log.warn("auth.token.secret is not set - using a random key, tokens will not survive restarts");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("auth.token.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        return bytes;
+    }
+}
@@ -5,11 +5,14 @@ import com.chs.webapp.dto.UserResponse;
 import com.chs.webapp.dto.UserUpdateRequest;
 import com.chs.webapp.entity.User;
 import com.chs.webapp.repository.UserRepository;
+import com.chs.webapp.security.UserLookupCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.UUID;
 
@@ -20,6 +23,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserLookupCache userLookupCache;
 
     @Transactional
     public UserResponse createUser(UserCreateRequest request) {
@@ -51,12 +55,32 @@ public class UserService {
         return mapToResponse(user);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 取得 User 參照（不查資料庫），用於已認證使用者作為關聯的 owner
+     */
+    public User getReference(UUID userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * 用於發 token / refresh token，不標記唯讀：一律讀 primary，剛註冊的使用者不受 replica 延遲影響
+     */
+    @Transactional
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with email: " + email));
     }
 
+    /**
+     * 登入成功後以新的雜湊參數重新儲存密碼（由 Spring Security 呼叫）
+     */
+    @Transactional
+    public void rehashPassword(String email, String newPasswordHash) {
+        int updated = userRepository.updatePasswordByEmail(email, newPasswordHash);
+        afterCommit(() -> userLookupCache.evict(email));
+        log.info("Password rehashed with current parameters for user: {} (rows={})", email, updated);
+    }
+
     @Transactional
     public UserResponse updateUser(UUID userId, UserUpdateRequest request, String authenticatedEmail) {
         User user = userRepository.findById(userId)
@@ -67,6 +91,7 @@ public class UserService {
         }
 
         boolean updated = false;
+        boolean passwordChanged = false;
         if (request.getFirstName() != null && !request.getFirstName().trim().isEmpty()) {
             user.setFirstName(request.getFirstName().trim());
             updated = true;
@@ -77,7 +102,9 @@ public class UserService {
         }
         if (request.getPassword() != null && !request.getPassword().trim().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user.setPasswordVersion(user.getPasswordVersion() + 1);
             updated = true;
+            passwordChanged = true;
         }
         if (!updated) {
             throw new IllegalArgumentException("No valid fields provided for update");
@@ -86,10 +113,27 @@ public class UserService {
         User savedUser = userRepository.saveAndFlush(user); // Timestamp 在資料庫 INSERT 操作時才執行，所以要 flush
         User refreshedUser = userRepository.findById(savedUser.getId()).orElse(savedUser);
 
+        // 密碼變更後，舊密碼版本的 token 一律失效：TokenService 以 UserLookupCache 中的密碼版本驗證
+        if (passwordChanged) {
+            String email = user.getEmail();
+            afterCommit(() -> userLookupCache.evict(email));
+        }
+
         log.info("User updated successfully with ID: {}", savedUser.getId());
         return mapToResponse(refreshedUser);
     }
 
+    /**
+     * commit 之後才執行：commit 前 evict 的話，同時進來的請求可能在 commit 前把舊的密碼雜湊與密碼版本重新載入快取
+     */
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
     private UserResponse mapToResponse(User user) {
         return UserResponse.builder()
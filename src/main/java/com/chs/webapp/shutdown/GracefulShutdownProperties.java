@@ -0,0 +1,24 @@
+package com.chs.webapp.shutdown;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 關閉流程設定 - 對應 application.properties 中的 graceful-shutdown.*
+ * 順序：readiness 改為 REFUSING_TRAFFIC → 等待 readiness-delay（仍照常處理請求）→ Tomcat 停止接受連線並等待處理中的請求
+ * → 等待進行中的 S3 操作（最多 drain-timeout）→ 關閉 datasource 等 bean
+ */
+@Component
+@ConfigurationProperties(prefix = "graceful-shutdown")
+@Data
+public class GracefulShutdownProperties {
+
+    // /health 回 503 後繼續服務的時間，需涵蓋 load balancer 判定 unhealthy 並停止轉送的時間
+    private Duration readinessDelay = Duration.ZERO;
+
+    // 等待進行中 S3 上傳 / 刪除的上限
+    private Duration drainTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,84 @@
+package com.chs.webapp.shutdown;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 進行中的 S3 操作數量；關閉時等待歸零，避免 PUT 做到一半被中斷
+ */
+@Component
+public class InFlightS3Operations {
+
+    static final String IN_FLIGHT_METRIC = "s3.operations.in_flight";
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition idle = lock.newCondition();
+    private int inFlight;
+
+    public InFlightS3Operations(ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> Gauge.builder(IN_FLIGHT_METRIC, this, InFlightS3Operations::count)
+                .description("S3 operations currently in progress")
+                .register(registry));
+    }
+
+    /**
+     * 開始一個 S3 操作；以 try-with-resources 結束
+     */
+    public Operation begin() {
+        lock.lock();
+        try {
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        return this::end;
+    }
+
+    public int count() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待所有操作結束，回傳逾時後仍未結束的數量
+     */
+    int awaitIdle(Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (inFlight > 0 && remaining > 0) {
+                remaining = idle.awaitNanos(remaining);
+            }
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void end() {
+        lock.lock();
+        try {
+            if (--inFlight == 0) {
+                idle.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operation extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.chs.webapp.shutdown;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 關閉的第一步（最先停止的 phase）：readiness 改為 REFUSING_TRAFFIC，讓 /health 回 503，
+ * 在 readiness-delay 內照常處理請求，等 load balancer 停止轉送後才讓 Tomcat 停止接受連線
+ */
+@Component
+@Slf4j
+public class ReadinessDrainLifecycle implements SmartLifecycle {
+
+    static final String PHASE_METRIC = "application.shutdown.phase";
+
+    private final ApplicationContext applicationContext;
+    private final GracefulShutdownProperties properties;
+    private final Timer phaseTimer;
+
+    private volatile boolean running;
+
+    public ReadinessDrainLifecycle(ApplicationContext applicationContext, GracefulShutdownProperties properties,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.applicationContext = applicationContext;
+        this.properties = properties;
+        this.phaseTimer = phaseTimer(meterRegistry, "readiness-delay");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        long start = System.nanoTime();
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        log.info("Shutdown started: readiness set to REFUSING_TRAFFIC, serving for another {}", properties.getReadinessDelay());
+
+        try {
+            Thread.sleep(properties.getReadinessDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running = false;
+        recordPhase(phaseTimer, "readiness-delay", System.nanoTime() - start);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 啟動時就註冊：Spring Boot 在 ContextClosedEvent 關閉 MeterRegistry（早於 lifecycle stop），之後才註冊的 meter 都是 no-op
+     */
+    static Timer phaseTimer(ObjectProvider<MeterRegistry> meterRegistry, String phase) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry == null ? null : Timer.builder(PHASE_METRIC)
+                .description("Time spent in each graceful shutdown phase")
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    // push 類 exporter 在 registry 關閉時已送出最後一批，各階段耗時也寫進 log
+    static void recordPhase(Timer phaseTimer, String phase, long nanos) {
+        log.info("Shutdown phase {} took {} ms", phase, TimeUnit.NANOSECONDS.toMillis(nanos));
+        if (phaseTimer != null) {
+            phaseTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
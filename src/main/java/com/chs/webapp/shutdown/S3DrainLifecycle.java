@@ -0,0 +1,79 @@
+package com.chs.webapp.shutdown;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tomcat graceful shutdown 之後、datasource 等 bean 關閉之前：等待仍在進行的 S3 操作（最多 drain-timeout）
+ * 逾時仍未結束的操作以 s3.operations.abandoned 計數
+ */
+@Component
+@Slf4j
+public class S3DrainLifecycle implements SmartLifecycle {
+
+    static final String ABANDONED_METRIC = "s3.operations.abandoned";
+
+    private final InFlightS3Operations inFlight;
+    private final GracefulShutdownProperties properties;
+    private final Timer phaseTimer;
+    private final Counter abandonedCounter;
+
+    private volatile boolean running;
+
+    public S3DrainLifecycle(InFlightS3Operations inFlight, GracefulShutdownProperties properties,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.inFlight = inFlight;
+        this.properties = properties;
+        // 與 phase timer 相同，必須在 registry 關閉前註冊
+        this.phaseTimer = ReadinessDrainLifecycle.phaseTimer(meterRegistry, "s3-drain");
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.abandonedCounter = registry == null ? null : Counter.builder(ABANDONED_METRIC)
+                .description("S3 operations still in progress when the shutdown drain timed out")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        long start = System.nanoTime();
+        int abandoned;
+        try {
+            abandoned = inFlight.awaitIdle(properties.getDrainTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandoned = inFlight.count();
+        }
+        running = false;
+
+        ReadinessDrainLifecycle.recordPhase(phaseTimer, "s3-drain", System.nanoTime() - start);
+        if (abandoned > 0) {
+            log.warn("Shutdown drain timed out after {} with {} S3 operations still in progress",
+                    properties.getDrainTimeout(), abandoned);
+            if (abandonedCounter != null) {
+                abandonedCounter.increment(abandoned);
+            }
+        } else {
+            log.info("Shutdown drain finished, no S3 operations in progress");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1;
+    }
+}
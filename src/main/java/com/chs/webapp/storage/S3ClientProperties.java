@@ -0,0 +1,63 @@
+package com.chs.webapp.storage;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * S3Client 連線設定 - 對應 application.properties 中的 aws.s3.*（bucket-name 由 S3Service 讀取）
+ * 預設連到 AWS 並使用 EC2 instance profile；本機或測試可改連 S3 相容的服務
+ */
+@Component
+@ConfigurationProperties(prefix = "aws.s3")
+@Data
+public class S3ClientProperties {
+
+    // 覆寫 S3 endpoint（例如 http://localhost:9000）；未設定時使用 region 的 AWS endpoint
+    private URI endpoint;
+
+    // 以 path-style（{endpoint}/{bucket}/{key}）存取，S3 相容的服務通常不支援 virtual-hosted bucket
+    private boolean pathStyleAccess = false;
+
+    // 單次 HTTP 嘗試的逾時，逾時後依重試設定重送；未設定時不限制
+    private Duration apiCallAttemptTimeout;
+
+    private Credentials credentials = new Credentials();
+
+    private Retry retry = new Retry();
+
+    public enum CredentialsProvider {
+        INSTANCE_PROFILE,
+        DEFAULT,
+        STATIC
+    }
+
+    @Data
+    public static class Credentials {
+
+        // instance-profile：EC2 metadata；default：SDK 預設鏈（環境變數、~/.aws、instance profile）；static：下面的 key
+        private CredentialsProvider provider = CredentialsProvider.INSTANCE_PROFILE;
+
+        private String accessKeyId;
+
+        private String secretAccessKey;
+    }
+
+    @Data
+    public static class Retry {
+
+        // 包含第一次請求的總嘗試次數
+        private int maxAttempts = 3;
+
+        // 一般錯誤（5xx、連線錯誤）的退避基準，full jitter
+        private Duration baseDelay = Duration.ofMillis(100);
+
+        // 503 SlowDown 等節流錯誤的退避基準，equal jitter（至少等待一半）
+        private Duration throttlingBaseDelay = Duration.ofMillis(500);
+
+        private Duration maxBackoff = Duration.ofSeconds(20);
+    }
+}
@@ -0,0 +1,33 @@
+package com.chs.webapp.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一次性的 S3 key 搬移工具，以 s3-key-migration profile 啟動，完成後結束程序（有失敗時 exit code 1）：
+ * java -jar webapp.jar --spring.profiles.active=s3-key-migration
+ */
+@Component
+@Profile("s3-key-migration")
+@RequiredArgsConstructor
+@Slf4j
+public class S3KeyMigrationRunner implements ApplicationRunner {
+
+    private final S3KeyMigrator migrator;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        S3KeyMigrator.MigrationResult result = migrator.migrateAll();
+        log.info("S3 key migration finished: migrated={}, skipped={}, failed={}",
+                result.migrated(), result.skipped(), result.failed());
+
+        System.exit(SpringApplication.exit(context, () -> result.failed() == 0 ? 0 : 1));
+    }
+}
@@ -0,0 +1,126 @@
+package com.chs.webapp.storage;
+
+import com.chs.webapp.service.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 把 images.s3_bucket_path 搬到 S3KeyStrategy 的格式：依 image_id 分批（keyset），每筆 複製物件 → 更新資料列 → 刪除舊物件
+ * 更新在短交易中以 SELECT ... FOR UPDATE 鎖住資料列並比對舊 key；刪除圖片時同樣鎖住資料列讀取 key，
+ * 兩者依序執行：搬移期間被刪除或修改的圖片不覆蓋並刪除剛複製的物件，更新後才刪除的圖片會刪到新的物件
+ * 已是新格式的 key 直接略過，中斷後重新執行即可
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class S3KeyMigrator {
+
+    private static final String SELECT_COLUMNS = "SELECT i.image_id, i.product_id, p.owner_user_id, i.file_name, i.s3_bucket_path " +
+            "FROM images i JOIN products p ON p.id = i.product_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final S3Service s3Service;
+    private final S3KeyStrategy keyStrategy;
+    private final S3KeyProperties properties;
+
+    public MigrationResult migrateAll() {
+        int migrated = 0;
+        int skipped = 0;
+        int failed = 0;
+
+        UUID after = null;
+        List<StoredImage> batch;
+        while (!(batch = loadBatch(after)).isEmpty()) {
+            for (StoredImage image : batch) {
+                switch (migrate(image)) {
+                    case MIGRATED -> migrated++;
+                    case SKIPPED -> skipped++;
+                    case FAILED -> failed++;
+                }
+            }
+            after = batch.get(batch.size() - 1).imageId();
+            log.info("S3 key migration progress: migrated={}, skipped={}, failed={}", migrated, skipped, failed);
+        }
+
+        return new MigrationResult(migrated, skipped, failed);
+    }
+
+    private Outcome migrate(StoredImage image) {
+        if (keyStrategy.isCurrentLayout(image.s3Key())) {
+            return Outcome.SKIPPED;
+        }
+
+        String newKey = keyStrategy.newImageKey(image.ownerId(), image.productId(), image.fileName());
+        try {
+            s3Service.copyFile(image.s3Key(), newKey);
+        } catch (RuntimeException e) {
+            log.error("Failed to copy S3 object for image {}: {}", image.imageId(), image.s3Key(), e);
+            return Outcome.FAILED;
+        }
+
+        boolean updated = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<String> current = jdbcTemplate.queryForList("SELECT s3_bucket_path FROM images WHERE image_id = ? FOR UPDATE",
+                    String.class, image.imageId());
+            if (current.isEmpty() || !image.s3Key().equals(current.get(0))) {
+                return false;
+            }
+            jdbcTemplate.update("UPDATE images SET s3_bucket_path = ? WHERE image_id = ?", newKey, image.imageId());
+            return true;
+        }));
+        if (!updated) {
+            log.info("Image {} changed during migration, removing copied object {}", image.imageId(), newKey);
+            deleteQuietly(newKey);
+            return Outcome.SKIPPED;
+        }
+
+        if (properties.getMigration().isDeleteOldObjects()) {
+            deleteQuietly(image.s3Key());
+        }
+        return Outcome.MIGRATED;
+    }
+
+    private List<StoredImage> loadBatch(UUID after) {
+        int batchSize = properties.getMigration().getBatchSize();
+        if (after == null) {
+            return jdbcTemplate.query(SELECT_COLUMNS + "ORDER BY i.image_id LIMIT ?", this::mapRow, batchSize);
+        }
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE i.image_id > ? ORDER BY i.image_id LIMIT ?", this::mapRow, after, batchSize);
+    }
+
+    private StoredImage mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new StoredImage(
+                rs.getObject("image_id", UUID.class),
+                rs.getObject("product_id", UUID.class),
+                rs.getObject("owner_user_id", UUID.class),
+                rs.getString("file_name"),
+                rs.getString("s3_bucket_path"));
+    }
+
+    // 刪除失敗只留下多餘的物件，不影響資料列
+    private void deleteQuietly(String key) {
+        try {
+            s3Service.deleteFile(key);
+        } catch (RuntimeException e) {
+            log.error("Failed to delete S3 object during migration: {}", key, e);
+        }
+    }
+
+    public record MigrationResult(int migrated, int skipped, int failed) { }
+
+    private record StoredImage(UUID imageId, UUID productId, UUID ownerId, String fileName, String s3Key) { }
+
+    private enum Outcome {
+        MIGRATED,
+        SKIPPED,
+        FAILED
+    }
+}
@@ -0,0 +1,32 @@
+package com.chs.webapp.storage;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * S3 object key 設定 - 對應 application.properties 中的 s3-keys.*
+ */
+@Component
+@ConfigurationProperties(prefix = "s3-keys")
+@Data
+public class S3KeyProperties {
+
+    // key 開頭的 hash 前綴長度（16 進位字元數），2 = 256 個前綴；變更後既有 key 需要重新搬移
+    private int shardPrefixLength = 2;
+
+    // 清理後檔名（含副檔名）的最大長度
+    private int maxFileNameLength = 64;
+
+    private Migration migration = new Migration();
+
+    @Data
+    public static class Migration {
+
+        // 每批讀取的 images 筆數
+        private int batchSize = 200;
+
+        // 複製並更新資料列後刪除舊 key 的物件
+        private boolean deleteOldObjects = true;
+    }
+}
@@ -0,0 +1,98 @@
+package com.chs.webapp.storage;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 圖片的 S3 object key：{shard}/{userId}/{productId}/{objectId}-{檔名}
+ * - shard：userId/productId/objectId 的 SHA-256 前綴，同一個賣家的大量上傳也會分散到不同 prefix（S3 依 prefix 分割 request rate）
+ * - objectId：隨機 UUID，同一毫秒上傳同名檔案也不會互相覆蓋
+ * - 檔名：只保留 ASCII 英數與 . _ -，長度有上限；原始檔名另外存在 images.file_name
+ */
+@Component
+public class S3KeyStrategy {
+
+    private static final String DEFAULT_FILE_NAME = "file";
+    private static final int MAX_EXTENSION_LENGTH = 10;
+    private static final String UUID_PATTERN = "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}";
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern UNSAFE_CHARACTERS = Pattern.compile("[^A-Za-z0-9._-]+");
+    private static final Pattern EDGE_PUNCTUATION = Pattern.compile("^[._-]+|[._-]+$");
+
+    private final S3KeyProperties properties;
+    private final Pattern currentLayout;
+
+    public S3KeyStrategy(S3KeyProperties properties) {
+        if (properties.getShardPrefixLength() < 1 || properties.getShardPrefixLength() > 8) {
+            throw new IllegalArgumentException("s3-keys.shard-prefix-length must be between 1 and 8");
+        }
+        if (properties.getMaxFileNameLength() <= MAX_EXTENSION_LENGTH) {
+            throw new IllegalArgumentException("s3-keys.max-file-name-length must be greater than " + MAX_EXTENSION_LENGTH);
+        }
+        this.properties = properties;
+        this.currentLayout = Pattern.compile("[0-9a-f]{" + properties.getShardPrefixLength() + "}/"
+                + UUID_PATTERN + "/" + UUID_PATTERN + "/" + UUID_PATTERN + "-[A-Za-z0-9._-]+");
+    }
+
+    public String newImageKey(UUID userId, UUID productId, String originalFilename) {
+        return imageKey(userId, productId, UUID.randomUUID(), originalFilename);
+    }
+
+    String imageKey(UUID userId, UUID productId, UUID objectId, String originalFilename) {
+        String ownerPath = userId + "/" + productId + "/" + objectId;
+        return shard(ownerPath) + "/" + ownerPath + "-" + sanitizeFileName(originalFilename);
+    }
+
+    /**
+     * 已經是目前格式的 key（搬移時略過）
+     */
+    public boolean isCurrentLayout(String key) {
+        return currentLayout.matcher(key).matches();
+    }
+
+    /**
+     * 去掉路徑與重音符號，其他字元換成 '-'，副檔名轉小寫，超過長度時截斷主檔名、保留副檔名
+     */
+    public String sanitizeFileName(String originalFilename) {
+        String name = originalFilename == null ? "" : originalFilename;
+        // 部分瀏覽器會送出完整路徑
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        name = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFKD)).replaceAll("");
+        name = UNSAFE_CHARACTERS.matcher(name).replaceAll("-");
+
+        String extension = "";
+        int dot = name.lastIndexOf('.');
+        if (dot > 0 && name.length() - dot <= MAX_EXTENSION_LENGTH) {
+            extension = name.substring(dot).toLowerCase(Locale.ROOT);
+            name = name.substring(0, dot);
+        }
+
+        String base = EDGE_PUNCTUATION.matcher(name).replaceAll("");
+        if (base.isEmpty()) {
+            base = DEFAULT_FILE_NAME;
+        }
+        int maxBaseLength = properties.getMaxFileNameLength() - extension.length();
+        if (base.length() > maxBaseLength) {
+            base = base.substring(0, maxBaseLength);
+        }
+        return base + extension;
+    }
+
+    private String shard(String ownerPath) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(ownerPath.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, properties.getShardPrefixLength());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
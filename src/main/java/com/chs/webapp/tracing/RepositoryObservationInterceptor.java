@@ -0,0 +1,39 @@
+package com.chs.webapp.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * 每次 repository 方法呼叫建立一個 observation（span 名稱例如 product-repository exists-by-id-and-owner-id）
+ */
+class RepositoryObservationInterceptor implements MethodInterceptor {
+
+    private static final String OBSERVATION_NAME = "spring.data.repository.call";
+
+    private final Supplier<ObservationRegistry> registry;
+    private final String repositoryName;
+
+    RepositoryObservationInterceptor(Supplier<ObservationRegistry> registry, Class<?> repositoryInterface) {
+        this.registry = registry;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ObservationRegistry observationRegistry = registry.get();
+        if (observationRegistry.isNoop()) {
+            return invocation.proceed();
+        }
+
+        String method = invocation.getMethod().getName();
+        return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(SpanNames.of(repositoryName, method))
+                .lowCardinalityKeyValue("repository", repositoryName)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(invocation::proceed);
+    }
+}
@@ -0,0 +1,30 @@
+package com.chs.webapp.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * 為所有 Spring Data repository 的 proxy 加上 RepositoryObservationInterceptor
+ * registry 延遲取得，避免 BeanPostProcessor 提早初始化 observation 相關的 bean
+ */
+public class RepositoryObservationPostProcessor implements BeanPostProcessor {
+
+    private final SingletonSupplier<ObservationRegistry> registry;
+
+    public RepositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        this.registry = SingletonSupplier.of(() -> registry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new RepositoryObservationInterceptor(registry, repositoryInformation.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,72 @@
+package com.chs.webapp.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import java.util.function.Supplier;
+
+/**
+ * 每個 S3 操作（包含 SDK 內部重試）建立一個 observation，span 名稱例如 s3 put-object
+ */
+public class S3ObservationInterceptor implements ExecutionInterceptor {
+
+    private static final String OBSERVATION_NAME = "aws.s3.request";
+    private static final ExecutionAttribute<Observation> OBSERVATION = new ExecutionAttribute<>("webapp.observation");
+    private static final ExecutionAttribute<Observation.Scope> SCOPE = new ExecutionAttribute<>("webapp.observation.scope");
+
+    private final Supplier<ObservationRegistry> registry;
+
+    public S3ObservationInterceptor(Supplier<ObservationRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        ObservationRegistry observationRegistry = registry.get();
+        if (observationRegistry.isNoop()) {
+            return;
+        }
+
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(SpanNames.of("S3", operation))
+                .lowCardinalityKeyValue("aws.operation", operation)
+                .start();
+        executionAttributes.putAttribute(OBSERVATION, observation);
+        executionAttributes.putAttribute(SCOPE, observation.openScope());
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        Observation observation = executionAttributes.getAttribute(OBSERVATION);
+        if (observation != null) {
+            observation.lowCardinalityKeyValue("http.status_code", String.valueOf(context.httpResponse().statusCode()));
+        }
+        stop(executionAttributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Observation observation = executionAttributes.getAttribute(OBSERVATION);
+        if (observation != null) {
+            observation.error(context.exception());
+        }
+        stop(executionAttributes);
+    }
+
+    private static void stop(ExecutionAttributes executionAttributes) {
+        Observation.Scope scope = executionAttributes.getAttribute(SCOPE);
+        if (scope != null) {
+            scope.close();
+        }
+        Observation observation = executionAttributes.getAttribute(OBSERVATION);
+        if (observation != null) {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.chs.webapp.tracing;
+
+/**
+ * Micrometer Tracing 匯出時會把 contextual name 轉成 lower-hyphen（PutObject → put-object，
+ * S3.PutObject 會變成 s3.-put-object），所以這裡先轉好，匯出的名稱與設定的一致
+ */
+final class SpanNames {
+
+    private SpanNames() {
+    }
+
+    /**
+     * 例如 ("S3", "PutObject") → "s3 put-object"、("ProductRepository", "existsByIdAndOwnerId") → "product-repository exists-by-id-and-owner-id"
+     */
+    static String of(String component, String operation) {
+        return lowerHyphen(component) + " " + lowerHyphen(operation);
+    }
+
+    private static String lowerHyphen(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 8);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0 && Character.isLetterOrDigit(name.charAt(i - 1))) {
+                    result.append('-');
+                }
+                result.append(Character.toLowerCase(c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,19 @@
+-- 產品搜尋用的欄位與索引（Hibernate 建表之後執行，每個語句都可以重複執行）
+
+-- trigram 相似度比對（name 模糊搜尋）
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 全文搜尋向量：name > manufacturer > description，由資料庫在寫入時自動維護
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(manufacturer, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING GIN (name gin_trgm_ops);
+
+-- SKU 前綴查詢（lower(sku) LIKE 'abc%'）
+CREATE INDEX IF NOT EXISTS idx_products_sku_lower_prefix ON products (lower(sku) text_pattern_ops);
@@ -0,0 +1,118 @@
+package com.chs.webapp.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以獨立程序啟動打包好的應用程式（jar 或 native 執行檔），供啟動相關的基準使用
+ */
+class ApplicationProcess implements AutoCloseable {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    private final Process process;
+    private final Path log;
+    private final HttpRequest health;
+    private final long startNanos;
+
+    private ApplicationProcess(Process process, Path log, int port, long startNanos) {
+        this.process = process;
+        this.log = log;
+        this.health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        this.startNanos = startNanos;
+    }
+
+    static ApplicationProcess start(List<String> command, PostgreSQLContainer<?> postgres, Path workDir) throws IOException {
+        int port = freePort();
+        Path log = workDir.resolve("app-" + port + ".log");
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        Map<String, String> env = builder.environment();
+        env.put("SERVER_PORT", String.valueOf(port));
+        env.put("DB_HOST", postgres.getHost());
+        env.put("DB_PORT", String.valueOf(postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)));
+        env.put("DB_NAME", postgres.getDatabaseName());
+        env.put("DB_USER", postgres.getUsername());
+        env.put("DB_PASSWORD", postgres.getPassword());
+        // 預設 profile 沒有 token 金鑰會啟動失敗
+        env.put("TOKEN_SECRET", "startup-benchmark-token-secret-0123456789");
+        // 沒有 load balancer，停止時不需要等待
+        env.put("SHUTDOWN_READINESS_DELAY", "0s");
+
+        long start = System.nanoTime();
+        return new ApplicationProcess(builder.start(), log, port, start);
+    }
+
+    /**
+     * 等到第一次 GET /health 成功，回傳從啟動程序起算的毫秒數
+     */
+    long awaitHealthy(Duration timeout) throws InterruptedException {
+        long deadline = startNanos + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new AssertionError("Application exited during startup, see " + log);
+            }
+            if (isHealthy()) {
+                return (System.nanoTime() - startNanos) / 1_000_000;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("No successful /health within " + timeout + ", see " + log);
+    }
+
+    boolean isHealthy() throws InterruptedException {
+        try {
+            return CLIENT.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException notListeningYet) {
+            // 還沒開始接受連線
+            return false;
+        }
+    }
+
+    /**
+     * 目前的 resident set size（KB），讀取 /proc/<pid>/status 的 VmRSS
+     */
+    long rssKb() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        throw new IllegalStateException("VmRSS not found in " + status);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.chs.webapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.chs.webapp.benchmark.ApplicationProcess.java;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Native image 與 JVM 的比較：啟動到第一次 GET /health 成功的時間，以及啟動完成與暖身後的 RSS
+ * 需要先分別打包 jar 與 native 執行檔（native 需要 GraalVM）：
+ * ./mvnw package -DskipTests && ./mvnw -Pnative package -DskipTests
+ * 執行方式：./mvnw test -Dtest=NativeImageBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Native Image Benchmark (startup time and RSS)")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class NativeImageBenchmarkIT {
+
+    private static final Path PACKAGED_JAR = Path.of("target", "webapp-0.0.1-SNAPSHOT.jar");
+    private static final Path NATIVE_EXECUTABLE = Path.of("target", "webapp");
+    private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 5);
+    private static final int WARMUP_REQUESTS = 500;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    @DisplayName("JVM vs native: time to first /health and RSS")
+    void benchmarkNativeImage() throws Exception {
+        assumeTrue(Files.exists(PACKAGED_JAR), "Run ./mvnw package -DskipTests first");
+        assumeTrue(Files.isExecutable(NATIVE_EXECUTABLE), "Run ./mvnw -Pnative package -DskipTests first");
+
+        Path workDir = Files.createTempDirectory("native-benchmark");
+        report("JVM (fat jar)", List.of(java(), "-jar", PACKAGED_JAR.toAbsolutePath().toString()), workDir);
+        report("native image", List.of(NATIVE_EXECUTABLE.toAbsolutePath().toString()), workDir);
+    }
+
+    private void report(String label, List<String> command, Path workDir) throws Exception {
+        long[] startup = new long[RUNS];
+        long[] rssAfterStartup = new long[RUNS];
+        long[] rssAfterWarmup = new long[RUNS];
+
+        for (int i = 0; i < RUNS; i++) {
+            try (ApplicationProcess app = ApplicationProcess.start(command, POSTGRES, workDir)) {
+                startup[i] = app.awaitHealthy(STARTUP_TIMEOUT);
+                rssAfterStartup[i] = app.rssKb();
+                for (int r = 0; r < WARMUP_REQUESTS; r++) {
+                    app.isHealthy();
+                }
+                rssAfterWarmup[i] = app.rssKb();
+            }
+        }
+        Arrays.sort(startup);
+        Arrays.sort(rssAfterStartup);
+        Arrays.sort(rssAfterWarmup);
+
+        System.out.printf("%-16s runs=%d startup p50=%dms max=%dms rss p50 startup=%dMB after %d requests=%dMB%n",
+                label, RUNS, startup[RUNS / 2], startup[RUNS - 1],
+                rssAfterStartup[RUNS / 2] / 1024, WARMUP_REQUESTS, rssAfterWarmup[RUNS / 2] / 1024);
+    }
+}
@@ -0,0 +1,21 @@
+package com.chs.webapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * 舊設定：同步文字輸出、show-sql + format_sql、所有讀取請求都記錄
+ * 執行方式：./mvnw test -Dtest=*LoggingThroughputBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Logging Throughput Benchmark - plain synchronous logs")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@ActiveProfiles({"test", "plain-logs"})
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=true",
+        "spring.jpa.properties.hibernate.format_sql=true",
+        "app-logging.read-sample-rate=1.0"
+})
+public class PlainLoggingThroughputBenchmarkIT extends ReadThroughputBenchmark {
+}
@@ -0,0 +1,97 @@
+package com.chs.webapp.benchmark;
+
+import com.chs.webapp.config.CachedLocalDateTimeSerializer;
+import com.chs.webapp.dto.ProductResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON / Smile / CBOR 比較：每 1,000 筆產品的大小與編碼、解碼吞吐量
+ * 執行方式：./mvnw test -Dtest=ProductBinaryFormatBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Product Binary Format Benchmark (1,000 products)")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ProductBinaryFormatBenchmarkIT {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+    private static final TypeReference<List<ProductResponse>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    private final List<ProductResponse> products = ProductFixtures.responses(PRODUCTS);
+
+    @Test
+    @DisplayName("Payload size and encode / decode throughput per format")
+    void benchmarkFormats() throws IOException {
+        benchmark("json", mapper(new JsonFactory()));
+        benchmark("smile", mapper(new SmileFactory()));
+        benchmark("cbor", mapper(new CBORFactory()));
+    }
+
+    private void benchmark(String label, ObjectMapper mapper) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(products);
+        assertThat(mapper.readValue(encoded, PRODUCT_LIST)).isEqualTo(products);
+
+        long encodeNanos = median(() -> mapper.writeValueAsBytes(products));
+        long decodeNanos = median(() -> mapper.readValue(encoded, PRODUCT_LIST));
+
+        System.out.printf("%-6s size=%,d bytes gzip=%,d bytes encode=%.3fms (%.0f products/s) decode=%.3fms (%.0f products/s)%n",
+                label, encoded.length, gzipSize(encoded),
+                encodeNanos / 1e6, PRODUCTS * 1e9 / encodeNanos,
+                decodeNanos / 1e6, PRODUCTS * 1e9 / decodeNanos);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializerByType(LocalDateTime.class, new CachedLocalDateTimeSerializer())
+                .build();
+    }
+
+    private static long median(IoTask task) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    private static int gzipSize(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data);
+        }
+        return compressed.size();
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,38 @@
+package com.chs.webapp.benchmark;
+
+import com.chs.webapp.dto.ProductResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 序列化基準共用的產品資料
+ */
+final class ProductFixtures {
+
+    private ProductFixtures() {
+    }
+
+    static List<ProductResponse> responses(int count) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        UUID owner = UUID.randomUUID();
+        List<ProductResponse> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime added = base.plusMinutes(i * 7L).plusNanos(i * 1_000L);
+            products.add(ProductResponse.builder()
+                    .id(UUID.randomUUID())
+                    .name("Wireless Speaker " + i)
+                    .description("Model " + i + " with noise cancelling support")
+                    .sku("SKU-" + String.format("%08d", i))
+                    .manufacturer("Acme")
+                    .quantity(i % 100)
+                    .dateAdded(added)
+                    .dateLastUpdated(added.plusHours(1))
+                    .ownerUserId(owner)
+                    .build());
+        }
+        return products;
+    }
+}
@@ -0,0 +1,112 @@
+package com.chs.webapp.benchmark;
+
+import com.chs.webapp.integration.PostgresIntegrationTest;
+import com.chs.webapp.service.ProductService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 產品搜尋效能基準：1,000,000 筆產品
+ * 執行方式：./mvnw test -Dtest=ProductSearchBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Product Search Benchmark (1M products)")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProductSearchBenchmarkIT extends PostgresIntegrationTest {
+
+    private static final int FIXTURE_SIZE = 1_000_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeAll
+    void loadFixture() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT count(*) FROM products", Integer.class);
+        if (existing != null && existing >= FIXTURE_SIZE) {
+            return;
+        }
+
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, first_name, last_name, account_created, account_updated)
+                VALUES (?, ?, 'x', 'Bench', 'Mark', now(), now())
+                """, ownerId, "bench-" + ownerId + "@example.com");
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO products (id, name, description, sku, manufacturer, quantity, date_added, date_last_updated, owner_user_id)
+                SELECT gen_random_uuid(),
+                       (ARRAY['Wireless','Portable','Smart','Compact','Pro'])[1 + g % 5] || ' ' ||
+                       (ARRAY['Phone','Laptop','Camera','Speaker','Monitor','Headphones','Router'])[1 + g % 7] || ' ' || g,
+                       'Model ' || g || ' with ' ||
+                       (ARRAY['bluetooth','waterproof','4k display','noise cancelling','fast charging'])[1 + g % 5] || ' support',
+                       'SKU-' || lpad(g::text, 8, '0'),
+                       (ARRAY['Acme','Globex','Initech','Umbrella','Stark','Wayne'])[1 + g % 6],
+                       g % 100, now(), now(), ?
+                FROM generate_series(1, ?) g
+                """, ownerId, FIXTURE_SIZE);
+        jdbcTemplate.execute("ANALYZE products");
+
+        System.out.printf("Loaded %,d products in %d ms%n", FIXTURE_SIZE, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Full-text search latency")
+    void benchmarkFullTextSearch() {
+        report("full-text 'waterproof camera'", () -> productService.searchProducts("waterproof camera", null, 0, 20).getItems());
+        report("full-text 'acme speaker'", () -> productService.searchProducts("acme speaker", null, 0, 20).getItems());
+        report("full-text page 10", () -> productService.searchProducts("laptop", null, 10, 20).getItems());
+
+        assertThat(explain("SELECT p.id FROM products p WHERE p.search_vector @@ websearch_to_tsquery('english', 'waterproof camera')"))
+                .contains("idx_products_search_vector");
+    }
+
+    @Test
+    @DisplayName("SKU prefix lookup latency")
+    void benchmarkSkuPrefix() {
+        report("sku prefix 'sku-00012'", () -> productService.searchProducts(null, "SKU-00012", 0, 20).getItems());
+        report("sku prefix 'sku-0099999'", () -> productService.searchProducts(null, "SKU-0099999", 0, 20).getItems());
+
+        assertThat(explain("SELECT p.id FROM products p WHERE lower(p.sku) LIKE 'sku-00012%'"))
+                .contains("idx_products_sku_lower_prefix");
+    }
+
+    private void report(String label, Supplier<List<?>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+
+        long[] samples = new long[ITERATIONS];
+        int results = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            results = search.get().size();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        System.out.printf("%-32s results=%d p50=%.2fms p95=%.2fms p99=%.2fms%n", label, results,
+                samples[ITERATIONS / 2] / 1e6, samples[ITERATIONS * 95 / 100] / 1e6, samples[ITERATIONS * 99 / 100] / 1e6);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,94 @@
+package com.chs.webapp.benchmark;
+
+import com.chs.webapp.config.CachedLocalDateTimeSerializer;
+import com.chs.webapp.dto.ProductResponse;
+import com.chs.webapp.dto.StreamingList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 產品列表序列化基準：每 1,000 筆產品的傳輸大小與序列化 CPU 時間
+ * 執行方式：./mvnw test -Dtest=ProductSerializationBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Product List Serialization Benchmark (1,000 products)")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ProductSerializationBenchmarkIT {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    // 與 Spring Boot 預設相同：時間以 ISO 字串輸出
+    private final ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper cachedDateMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializerByType(LocalDateTime.class, new CachedLocalDateTimeSerializer())
+            .build();
+
+    @Test
+    @DisplayName("Bytes on wire: identity vs gzip")
+    void benchmarkPayloadSize() throws IOException {
+        List<ProductResponse> products = ProductFixtures.responses(PRODUCTS);
+        byte[] json = cachedDateMapper.writeValueAsBytes(products);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+
+        System.out.printf("identity=%,d bytes gzip=%,d bytes (%.1f%%)%n",
+                json.length, compressed.size(), 100.0 * compressed.size() / json.length);
+        assertThat(compressed.size()).isLessThan(json.length);
+        assertThat(json).isEqualTo(defaultMapper.writeValueAsBytes(products));
+        assertThat(cachedDateMapper.writeValueAsBytes(new StreamingList<ProductResponse>(products::forEach))).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("Serialization CPU: default vs cached date formatting, list vs streaming list")
+    void benchmarkSerializationCpu() throws IOException {
+        List<ProductResponse> products = ProductFixtures.responses(PRODUCTS);
+
+        report("default list", () -> defaultMapper.writeValue(OutputStream.nullOutputStream(), products));
+        report("cached-date list", () -> cachedDateMapper.writeValue(OutputStream.nullOutputStream(), products));
+        report("cached-date streaming", () -> cachedDateMapper.writeValue(OutputStream.nullOutputStream(),
+                new StreamingList<ProductResponse>(products::forEach)));
+    }
+
+    private void report(String label, IoTask task) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        System.out.printf("%-20s p50=%.3fms p99=%.3fms per %,d products%n", label,
+                samples[ITERATIONS / 2] / 1e6, samples[ITERATIONS * 99 / 100] / 1e6, PRODUCTS);
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+}
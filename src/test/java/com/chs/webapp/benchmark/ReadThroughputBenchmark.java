@@ -0,0 +1,76 @@
+package com.chs.webapp.benchmark;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 讀取吞吐量基準：以多個執行緒重複 GET /v1/product/{id}
+ * 子類別套用不同的日誌 / tracing 設定，比較各自的 req/s
+ */
+@TestPropertySource(properties = {
+        "logging.level.org.springframework.security=INFO",
+        "logging.level.com.chs.webapp=INFO"
+})
+abstract class ReadThroughputBenchmark extends BaseIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    @DisplayName("Product read throughput")
+    void benchmarkReadThroughput() throws Exception {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        URI uri = URI.create("http://localhost:" + port + PRODUCT_ENDPOINT + "/" + productId);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        run(client, uri, WARMUP_REQUESTS);
+
+        long start = System.nanoTime();
+        run(client, uri, REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf("[%s] %,d requests in %.2fs = %,.0f req/s%n",
+                getClass().getSimpleName(), REQUESTS, seconds, REQUESTS / seconds);
+    }
+
+    private static void run(HttpClient client, URI uri, int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    int ok = 0;
+                    for (int i = 0; i < requests / THREADS; i++) {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            ok++;
+                        }
+                    }
+                    return ok;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isEqualTo(requests / THREADS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.chs.webapp.benchmark;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.integration.storage.LocalS3Server;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * 圖片上傳 / 刪除基準：S3Client 連到 LocalS3Server，比較正常、延遲、節流（503 SlowDown）與部分失敗（500）時
+ * 每個 API 請求的延遲分布、失敗數與平均 S3 嘗試次數；重試設定使用 application.properties 的正式值
+ * 執行方式：./mvnw test -Dtest=S3ImageBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("S3 Image Benchmark (local S3 stand-in with fault injection)")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "aws.s3.bucket-name=benchmark-bucket",
+        "aws.s3.path-style-access=true",
+        "aws.s3.credentials.provider=static",
+        "aws.s3.credentials.access-key-id=benchmark",
+        "aws.s3.credentials.secret-access-key=benchmark",
+        "logging.level.com.chs.webapp=WARN",
+        "logging.level.org.springframework.security=INFO"
+})
+public class S3ImageBenchmarkIT extends BaseIntegrationTest {
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.s3.operations", 200);
+    private static final byte[] IMAGE = new byte[256 * 1024];
+
+    private static final LocalS3Server S3 = LocalS3Server.start();
+
+    @DynamicPropertySource
+    static void s3Endpoint(DynamicPropertyRegistry registry) {
+        registry.add("aws.s3.endpoint", () -> S3.endpoint().toString());
+    }
+
+    @AfterAll
+    static void stopS3() {
+        S3.close();
+    }
+
+    @Test
+    @DisplayName("Upload and delete latency under injected S3 faults")
+    void benchmarkUploadAndDelete() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        String endpoint = PRODUCT_ENDPOINT + "/" + productId + "/image";
+
+        run("warm-up", userData, endpoint, s3 -> { });
+        run("baseline", userData, endpoint, s3 -> { });
+        run("latency 50ms", userData, endpoint, s3 -> s3.latency(Duration.ofMillis(50)));
+        run("5% SlowDown", userData, endpoint, s3 -> s3.throttleRate(0.05));
+        run("5% InternalError", userData, endpoint, s3 -> s3.failureRate(0.05));
+    }
+
+    private void run(String label, UserTestData userData, String endpoint, Consumer<LocalS3Server> faults) {
+        S3.resetFaults();
+        faults.accept(S3);
+        S3.clearRequests();
+
+        long[] uploads = new long[OPERATIONS];
+        long[] deletes = new long[OPERATIONS];
+        List<String> imageIds = new ArrayList<>();
+        int uploadFailures = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            long start = System.nanoTime();
+            Response response = given()
+                    .header("Authorization", userData.authHeader())
+                    .multiPart("file", "image-" + i + ".png", IMAGE, "image/png")
+                    .when().post(endpoint)
+                    .andReturn();
+            uploads[i] = System.nanoTime() - start;
+            if (response.statusCode() == 201) {
+                imageIds.add(response.path("imageId"));
+            } else {
+                uploadFailures++;
+            }
+        }
+        int puts = S3.requests("PUT").size();
+
+        for (int i = 0; i < imageIds.size(); i++) {
+            long start = System.nanoTime();
+            given()
+                    .header("Authorization", userData.authHeader())
+                    .when().delete(endpoint + "/" + imageIds.get(i))
+                    .then()
+                    .statusCode(204);
+            deletes[i] = System.nanoTime() - start;
+        }
+        int s3Deletes = S3.requests("DELETE").size();
+
+        System.err.printf("[%s] upload %s failed=%d s3-attempts/op=%.2f | delete %s s3-attempts/op=%.2f%n", label,
+                percentiles(uploads, OPERATIONS), uploadFailures, (double) puts / OPERATIONS,
+                percentiles(deletes, imageIds.size()), imageIds.isEmpty() ? 0.0 : (double) s3Deletes / imageIds.size());
+    }
+
+    private static String percentiles(long[] samples, int count) {
+        if (count == 0) {
+            return "n/a";
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return String.format("p50=%.1fms p99=%.1fms max=%.1fms", sorted[count / 2] / 1e6,
+                sorted[Math.min(count - 1, count * 99 / 100)] / 1e6, sorted[count - 1] / 1e6);
+    }
+}
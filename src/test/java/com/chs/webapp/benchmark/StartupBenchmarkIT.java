@@ -0,0 +1,100 @@
+package com.chs.webapp.benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.chs.webapp.benchmark.ApplicationProcess.java;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 啟動時間基準：從啟動 JVM 到第一次 GET /health 成功的時間
+ * 比較 fat jar（原本的 systemd 設定）、解開的 jar、解開的 jar + AppCDS archive（目前 AMI 的設定）
+ * 需要先打包：./mvnw package -DskipTests
+ * 執行方式：./mvnw test -Dtest=StartupBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Startup Benchmark (time to first /health)")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StartupBenchmarkIT {
+
+    private static final Path PACKAGED_JAR = Path.of("target", "webapp-0.0.1-SNAPSHOT.jar");
+    private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 5);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private Path workDir;
+    private Path extractedJar;
+
+    @BeforeAll
+    void extractJar() throws Exception {
+        assumeTrue(Files.exists(PACKAGED_JAR), "Run ./mvnw package -DskipTests first");
+
+        workDir = Files.createTempDirectory("startup-benchmark");
+        runToCompletion(List.of(java(), "-Djarmode=tools", "-jar", PACKAGED_JAR.toAbsolutePath().toString(),
+                "extract", "--destination", workDir.resolve("app").toString()));
+        extractedJar = workDir.resolve("app").resolve(PACKAGED_JAR.getFileName());
+    }
+
+    @Test
+    @DisplayName("Time to first successful /health")
+    void benchmarkStartup() throws Exception {
+        report("fat jar", List.of("-jar", PACKAGED_JAR.toAbsolutePath().toString()));
+        report("extracted jar", List.of("-jar", extractedJar.toString()));
+
+        // 與 packer 相同的訓練執行
+        Path archive = workDir.resolve("app").resolve("webapp.jsa");
+        runToCompletion(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh",
+                "-Dspring.profiles.active=cds-training", "-jar", extractedJar.toString()));
+        assertThat(archive).exists();
+
+        report("extracted jar + AppCDS", List.of("-XX:SharedArchiveFile=" + archive, "-jar", extractedJar.toString()));
+    }
+
+    private void report(String label, List<String> jvmArgs) throws Exception {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            samples[i] = timeToFirstHealth(jvmArgs);
+        }
+        Arrays.sort(samples);
+
+        System.out.printf("%-24s runs=%d min=%dms p50=%dms max=%dms%n", label, RUNS,
+                samples[0], samples[RUNS / 2], samples[RUNS - 1]);
+    }
+
+    private long timeToFirstHealth(List<String> jvmArgs) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        command.addAll(jvmArgs);
+
+        try (ApplicationProcess app = ApplicationProcess.start(command, POSTGRES, workDir)) {
+            return app.awaitHealthy(STARTUP_TIMEOUT);
+        }
+    }
+
+    private void runToCompletion(List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(workDir.resolve("setup.log").toFile()))
+                .start();
+        assertThat(process.waitFor(5, TimeUnit.MINUTES)).isTrue();
+        assertThat(process.exitValue()).as("exit code of %s", command).isZero();
+    }
+}
@@ -0,0 +1,18 @@
+package com.chs.webapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * 新設定：非同步 JSON 輸出、show-sql 關閉、讀取請求取樣 10%
+ * 執行方式：./mvnw test -Dtest=*LoggingThroughputBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Logging Throughput Benchmark - async structured logs")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "app-logging.read-sample-rate=0.1"
+})
+public class StructuredLoggingThroughputBenchmarkIT extends ReadThroughputBenchmark {
+}
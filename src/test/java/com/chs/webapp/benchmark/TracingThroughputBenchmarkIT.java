@@ -0,0 +1,22 @@
+package com.chs.webapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Tracing 開啟（預設取樣 10%）時的讀取吞吐量，與 StructuredLoggingThroughputBenchmarkIT（tracing 關閉）比較
+ * 目標：吞吐量下降不超過 5%，超過時調低 TRACING_SAMPLING_PROBABILITY
+ * 執行方式：./mvnw test -Dtest=*ThroughputBenchmarkIT -Dbenchmark=true
+ */
+@DisplayName("Read Throughput Benchmark - tracing enabled")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@AutoConfigureObservability(metrics = false)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "app-logging.read-sample-rate=0.1",
+        "management.tracing.sampling.probability=${benchmark.tracing.probability:0.1}"
+})
+public class TracingThroughputBenchmarkIT extends ReadThroughputBenchmark {
+}
@@ -1,10 +1,13 @@
 package com.chs.webapp.integration;
 
+import com.chs.webapp.datasource.QueryBudgetViolations;
 import io.restassured.RestAssured;
 import io.restassured.config.ObjectMapperConfig;
 import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
@@ -13,6 +16,7 @@ import org.springframework.test.context.TestPropertySource;
 import java.util.Base64;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -27,6 +31,12 @@ public abstract class BaseIntegrationTest {
     protected static final String PRODUCT_ENDPOINT = BASE_PATH + "/product";
     protected static final String HEALTH_ENDPOINT = "/health";
 
+    // 只需通過 content type 檢查的最小圖片內容
+    protected static final byte[] PNG_BYTES = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    @Autowired
+    protected QueryBudgetViolations queryBudgetViolations;
+
     @BeforeEach
     void setUp() {
         RestAssured.baseURI = "http://localhost";
@@ -39,6 +49,12 @@ public abstract class BaseIntegrationTest {
 
     }
 
+    @AfterEach
+    void assertQueryBudgets() {
+        // 測試中任何請求超過 controller 宣告的 @QueryBudget 都視為失敗
+        assertThat(queryBudgetViolations.drain()).as("SQL query budget violations").isEmpty();
+    }
+
     protected UserTestData createUserAndGetData(String email, String password, String firstName, String lastName) {
         String userPayload = String.format("""
             {
@@ -88,6 +104,18 @@ public abstract class BaseIntegrationTest {
                 .path("id");
     }
 
+    protected String uploadImage(String authHeader, String productId) {
+        return given()
+                .header("Authorization", authHeader)
+                .multiPart("file", "test.png", PNG_BYTES, "image/png")
+                .when()
+                .post(PRODUCT_ENDPOINT + "/" + productId + "/image")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("imageId");
+    }
+
     protected String generateUniqueEmail() {
         return "test" + System.currentTimeMillis() + "@example.com";
     }
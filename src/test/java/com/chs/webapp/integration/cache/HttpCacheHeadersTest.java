@@ -0,0 +1,116 @@
+package com.chs.webapp.integration.cache;
+
+import com.chs.webapp.cache.LocalCdnPurgeSink;
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("HTTP Cache Headers & CDN Purge Tests")
+public class HttpCacheHeadersTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LocalCdnPurgeSink purgeSink;
+
+    @Test
+    @DisplayName("Should send public cache headers and surrogate key to anonymous callers")
+    void shouldSendPublicHeadersToAnonymousCallers() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Cache-Control", containsString("public"))
+                .header("Cache-Control", containsString("max-age=60"))
+                .header("Surrogate-Key", equalTo("product-" + productId))
+                // Tomcat 的 gzip 壓縮會把 Vary 改成小寫
+                .header("Vary", containsStringIgnoringCase("Authorization"));
+
+        given()
+                .when().get(PRODUCT_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Cache-Control", containsString("public"))
+                .header("Surrogate-Key", equalTo("products"));
+    }
+
+    @Test
+    @DisplayName("Should tag an upper-case product id with the same surrogate key that purges use")
+    void shouldCanonicalizeProductIdInSurrogateKey() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId.toUpperCase())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Surrogate-Key", equalTo("product-" + productId));
+    }
+
+    @Test
+    @DisplayName("Should keep authenticated responses out of shared caches")
+    void shouldSendPrivateHeadersToAuthenticatedCallers() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Cache-Control", containsString("private"))
+                .header("Cache-Control", not(containsString("public")))
+                .header("Surrogate-Key", nullValue())
+                .header("Vary", containsStringIgnoringCase("Authorization"));
+    }
+
+    @Test
+    @DisplayName("Should not mark error responses as cacheable")
+    void shouldNotCacheErrors() {
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + UUID.randomUUID())
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .header("Cache-Control", not(containsString("public")))
+                .header("Surrogate-Key", nullValue());
+    }
+
+    @Test
+    @DisplayName("Should purge product, list and SKU keys after update and delete")
+    void shouldPurgeAfterWrites() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String oldSku = generateUniqueSku();
+        String newSku = oldSku + "-NEW";
+        String productId = createTestProduct(userData.authHeader(), oldSku, "Product", "Desc", "Maker", 1);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"sku\": \"%s\"}", newSku))
+                .when().put(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+
+        assertThat(purgeSink.recentPurges()).contains(
+                Set.of("products", "product-" + productId, "sku-" + oldSku, "sku-" + newSku));
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        assertThat(purgeSink.recentPurges()).contains(
+                Set.of("products", "product-" + productId, "sku-" + newSku));
+    }
+}
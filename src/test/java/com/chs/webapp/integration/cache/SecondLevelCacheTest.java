@@ -0,0 +1,152 @@
+package com.chs.webapp.integration.cache;
+
+import com.chs.webapp.entity.User;
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.repository.ProductRepository;
+import com.chs.webapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@DisplayName("Hibernate Second-Level Cache Tests")
+public class SecondLevelCacheTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUpStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated product reads from the cache without SQL")
+    void shouldServeRepeatedProductReadsFromCache() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        getProduct(productId);
+
+        statistics.clear();
+        getProduct(productId).body("name", equalTo("Product"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("product").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should see product updates immediately")
+    void shouldInvalidateProductOnUpdate() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        getProduct(productId);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"name": "Renamed", "quantity": 7}
+                        """)
+                .when().put(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+
+        getProduct(productId)
+                .body("name", equalTo("Renamed"))
+                .body("quantity", equalTo(7));
+    }
+
+    @Test
+    @DisplayName("Should drop deleted products from the cache")
+    void shouldInvalidateProductOnDelete() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        getProduct(productId);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    @DisplayName("Should read findByEmail from the database even when the user is cached")
+    void shouldNotCacheFindByEmail() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        userRepository.findByEmail(userData.email()).orElseThrow();
+        userRepository.findById(UUID.fromString(userData.userId())).orElseThrow();
+        assertThat(entityManagerFactory.getCache().contains(User.class, UUID.fromString(userData.userId()))).isTrue();
+
+        // 模擬另一個 instance 修改密碼：直接寫資料庫，本機的快取不會失效
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE email = ?", "changed-elsewhere", userData.email());
+
+        assertThat(userRepository.findByEmail(userData.email()).orElseThrow().getPassword()).isEqualTo("changed-elsewhere");
+    }
+
+    @Test
+    @DisplayName("Should cache findByOwnerId and include newly created products")
+    void shouldCacheFindByOwnerIdUntilProductsChange() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        UUID ownerId = UUID.fromString(userData.userId());
+        createTestProduct(userData.authHeader(), generateUniqueSku(), "First", "Desc", "Maker", 1);
+        productRepository.findByOwnerId(ownerId);
+
+        statistics.clear();
+        assertThat(productRepository.findByOwnerId(ownerId)).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        createTestProduct(userData.authHeader(), generateUniqueSku() + "B", "Second", "Desc", "Maker", 1);
+        assertThat(productRepository.findByOwnerId(ownerId)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should expose cache region statistics as metrics")
+    void shouldExposeRegionMetrics() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        getProduct(productId);
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", "product")
+                .tag("result", "hit")
+                .functionCounter()).isNotNull();
+    }
+
+    private ValidatableResponse getProduct(String productId) {
+        return given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+    }
+}
@@ -0,0 +1,157 @@
+package com.chs.webapp.integration.changefeed;
+
+import com.chs.webapp.event.ChangeLogRetention;
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.service.S3Service;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Change Feed Tests")
+public class ChangeFeedTest extends BaseIntegrationTest {
+
+    private static final String CHANGES_ENDPOINT = BASE_PATH + "/changes";
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Autowired
+    private ChangeLogRetention changeLogRetention;
+
+    @BeforeEach
+    void setUpMocks() {
+        when(s3Service.uploadFile(any(), any(), any())).thenAnswer(invocation -> "test/" + UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should record product and image changes in commit order")
+    void shouldRecordChangesInOrder() throws InterruptedException {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        long start = latestOffset(userData.authHeader());
+
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        given()
+                .header("Authorization", userData.authHeader())
+                .contentType(ContentType.JSON)
+                .body("{\"quantity\": 2}")
+                .when().put(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+        String imageId = uploadImage(userData.authHeader(), productId);
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        List<Map<String, Object>> events = awaitEvents(userData.authHeader(), start, productId, 4);
+
+        assertThat(events).extracting(event -> event.get("entityType") + ":" + event.get("changeType"))
+                .containsExactly("PRODUCT:CREATED", "PRODUCT:UPDATED", "IMAGE:CREATED", "PRODUCT:DELETED");
+        assertThat(events.get(2).get("entityId")).isEqualTo(imageId);
+        assertThat(events).extracting(event -> ((Number) event.get("offset")).longValue()).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should page through the feed with nextOffset")
+    void shouldPageWithNextOffset() throws InterruptedException {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        long start = latestOffset(userData.authHeader());
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        awaitEvents(userData.authHeader(), start, productId, 1);
+
+        JsonPath firstPage = readChanges(userData.authHeader(), start, 1);
+        assertThat(firstPage.getList("events")).hasSize(1);
+
+        long next = firstPage.getLong("nextOffset");
+        assertThat(next).isGreaterThan(start);
+        assertThat(readChanges(userData.authHeader(), next, 100).getList("events", Map.class))
+                .noneMatch(event -> ((Number) event.get("offset")).longValue() <= next);
+    }
+
+    @Test
+    @DisplayName("Should only return events for the caller's own products")
+    void shouldScopeFeedToCaller() throws InterruptedException {
+        UserTestData owner = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        UserTestData other = createUserAndGetData(generateUniqueEmail(), "Pass123!", "Jane", "Doe");
+        String productId = createTestProduct(owner.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        awaitEvents(owner.authHeader(), 0, productId, 1);
+
+        assertThat(readChanges(other.authHeader(), 0, 1000).getList("events")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should remove events older than the retention cutoff")
+    void shouldPurgeExpiredEvents() throws InterruptedException {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        long start = latestOffset(userData.authHeader());
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        awaitEvents(userData.authHeader(), start, productId, 1);
+
+        assertThat(changeLogRetention.purgeOlderThan(LocalDateTime.now().plusMinutes(1))).isPositive();
+        assertThat(readChanges(userData.authHeader(), 0, 100).getList("events")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should require authentication and validate parameters")
+    void shouldValidateRequests() {
+        given().when().get(CHANGES_ENDPOINT).then().statusCode(HttpStatus.UNAUTHORIZED.value());
+
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        given()
+                .header("Authorization", userData.authHeader())
+                .queryParam("limit", 0)
+                .when().get(CHANGES_ENDPOINT)
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    private long latestOffset(String authHeader) {
+        long offset = 0;
+        JsonPath page;
+        do {
+            page = readChanges(authHeader, offset, 1000);
+            offset = page.getLong("nextOffset");
+        } while (!page.getList("events").isEmpty());
+        return offset;
+    }
+
+    private List<Map<String, Object>> awaitEvents(String authHeader, long after, String productId, int expected)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<Map<String, Object>> events;
+        do {
+            events = readChanges(authHeader, after, 1000).<Map<String, Object>>getList("events").stream()
+                    .filter(event -> productId.equals(event.get("productId")))
+                    .toList();
+            if (events.size() >= expected) {
+                return events;
+            }
+            Thread.sleep(50);
+        } while (System.currentTimeMillis() < deadline);
+        throw new AssertionError("Expected " + expected + " change events for " + productId + " but got " + events);
+    }
+
+    private JsonPath readChanges(String authHeader, long after, int limit) {
+        return given()
+                .header("Authorization", authHeader)
+                .queryParam("after", after)
+                .queryParam("limit", limit)
+                .when().get(CHANGES_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().jsonPath();
+    }
+}
@@ -0,0 +1,225 @@
+package com.chs.webapp.integration.datasource;
+
+import com.chs.webapp.datasource.ReplicaLagMonitor;
+import com.chs.webapp.datasource.ReplicaRoutingDataSource;
+import com.chs.webapp.datasource.ReplicaTarget;
+import com.chs.webapp.integration.PostgresIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.zaxxer.hikari.HikariDataSource;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * 兩個獨立的 PostgreSQL 容器：一個當 primary，一個當 replica
+ * 沒有真正的串流複製，測試自行把資料列複製到 replica，並在 replica 上改名稱來分辨讀取的來源
+ * 另外設定一個連不上的 replica（replica-1），驗證它會被排除
+ */
+@DisplayName("Read Replica Routing Tests")
+public class ReplicaRoutingTest extends PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine");
+    private static final Path SCHEMA_SCRIPT = createSchemaScriptFile();
+    private static boolean replicaSchemaCreated;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    private JdbcTemplate replicaJdbc;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        REPLICA.start();
+
+        registry.add("replica-routing.enabled", () -> "true");
+        registry.add("replica-routing.replicas[0].url", REPLICA::getJdbcUrl);
+        registry.add("replica-routing.replicas[0].username", REPLICA::getUsername);
+        registry.add("replica-routing.replicas[0].password", REPLICA::getPassword);
+        registry.add("replica-routing.replicas[1].url", () -> "jdbc:postgresql://localhost:1/unreachable");
+        registry.add("replica-routing.connection-timeout", () -> "500ms");
+        // spring.datasource.hikari.* 也要套用到自行建立的 pool
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "7");
+        // 以 replica 上的資料表模擬複製延遲
+        registry.add("replica-routing.lag-query", () -> "SELECT lag_seconds FROM replica_lag");
+        registry.add("replica-routing.max-lag", () -> "5s");
+        // Hibernate 把建表 DDL 另外輸出成 script，用來在 replica 建立相同的 schema
+        registry.add("spring.jpa.properties.jakarta.persistence.schema-generation.scripts.action", () -> "create");
+        registry.add("spring.jpa.properties.jakarta.persistence.schema-generation.scripts.create-target", SCHEMA_SCRIPT::toString);
+        registry.add("spring.jpa.properties.hibernate.hbm2ddl.delimiter", () -> ";");
+        // 讀取要真的到達資料庫才分辨得出來源，關閉 second-level cache
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+    }
+
+    @BeforeEach
+    void prepareReplica() throws SQLException {
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword()));
+        createReplicaSchemaOnce();
+
+        setReplicaLag(0);
+    }
+
+    @Test
+    @DisplayName("Should serve read-only requests from the replica")
+    void shouldReadFromReplica() {
+        UserTestData owner = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(owner.authHeader(), generateUniqueSku(), "Primary Name", "Desc", "Maker", 1);
+        replicateProduct(owner, productId, "Replica Name");
+
+        for (int i = 0; i < 4; i++) {
+            given()
+                    .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("name", equalTo("Replica Name"));
+        }
+
+        // 連不上的 replica 被排除，不影響讀取
+        assertThat(routingDataSource.replicas()).extracting(ReplicaTarget::getName, ReplicaTarget::isAvailable)
+                .containsExactly(tuple("replica-0", true), tuple("replica-1", false));
+    }
+
+    @Test
+    @DisplayName("Should read a user's own writes from the primary")
+    void shouldReadOwnWritesFromPrimary() {
+        UserTestData owner = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        UserTestData other = createUserAndGetData("other-" + generateUniqueEmail(), "Pass123!", "Jane", "Doe");
+        String productId = createTestProduct(owner.authHeader(), generateUniqueSku(), "Primary Name", "Desc", "Maker", 1);
+        replicateProduct(owner, productId, "Stale Name");
+
+        given()
+                .header("Authorization", owner.authHeader())
+                .contentType(ContentType.JSON)
+                .body("{\"name\": \"Updated Name\"}")
+                .when().put(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+
+        // 寫入者讀到自己的更新；其他使用者仍由（尚未同步的）replica 提供
+        given()
+                .header("Authorization", owner.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then().body("name", equalTo("Updated Name"));
+        given()
+                .header("Authorization", other.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then().body("name", equalTo("Stale Name"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags")
+    void shouldFallBackWhenReplicaLags() {
+        UserTestData owner = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(owner.authHeader(), generateUniqueSku(), "Primary Name", "Desc", "Maker", 1);
+        replicateProduct(owner, productId, "Replica Name");
+
+        setReplicaLag(60);
+
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo("Primary Name"));
+    }
+
+    @Test
+    @DisplayName("Should apply spring.datasource.hikari settings to the primary pool")
+    void shouldBindHikariPropertiesToPrimaryPool() {
+        assertThat(routingDataSource.primary()).isInstanceOfSatisfying(HikariDataSource.class, primary -> {
+            assertThat(primary.getPoolName()).isEqualTo("primary");
+            assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        });
+    }
+
+    @Test
+    @DisplayName("Should send writes to the primary")
+    void shouldWriteToPrimary() {
+        UserTestData owner = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(owner.authHeader(), generateUniqueSku(), "Primary Name", "Desc", "Maker", 1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM products WHERE id = ?", Integer.class, UUID.fromString(productId)))
+                .isEqualTo(1);
+        assertThat(replicaJdbc.queryForObject("SELECT count(*) FROM products WHERE id = ?", Integer.class, UUID.fromString(productId)))
+                .isZero();
+    }
+
+    private void setReplicaLag(double seconds) {
+        replicaJdbc.update("UPDATE replica_lag SET lag_seconds = ?", seconds);
+        lagMonitor.refresh();
+    }
+
+    /**
+     * 模擬複製：把 primary 上的使用者與產品資料列寫到 replica，再改掉產品名稱
+     */
+    private void replicateProduct(UserTestData owner, String productId, String replicaName) {
+        copyRow("users", UUID.fromString(owner.userId()));
+        copyRow("products", UUID.fromString(productId));
+        replicaJdbc.update("UPDATE products SET name = ? WHERE id = ?", replicaName, UUID.fromString(productId));
+    }
+
+    private void copyRow(String table, UUID id) {
+        // 只複製 replica 上存在的欄位（primary 另外有 product_search.sql 產生的欄位）
+        List<String> columns = replicaJdbc.queryForList(
+                "SELECT column_name FROM information_schema.columns WHERE table_name = ? ORDER BY ordinal_position",
+                String.class, table);
+        String columnList = String.join(", ", columns);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT " + columnList + " FROM " + table + " WHERE id = ?", id);
+        replicaJdbc.update("INSERT INTO " + table + " (" + columnList + ") VALUES ("
+                        + String.join(", ", Collections.nCopies(columns.size(), "?")) + ") ON CONFLICT DO NOTHING",
+                columns.stream().map(row::get).toArray());
+    }
+
+    private void createReplicaSchemaOnce() throws SQLException {
+        if (replicaSchemaCreated) {
+            return;
+        }
+        try (Connection connection = replicaJdbc.getDataSource().getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new FileSystemResource(SCHEMA_SCRIPT));
+        }
+        replicaJdbc.execute("CREATE TABLE replica_lag (lag_seconds double precision NOT NULL)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+        replicaSchemaCreated = true;
+    }
+
+    private static Path createSchemaScriptFile() {
+        try {
+            Path script = Files.createTempFile("replica-schema", ".sql");
+            script.toFile().deleteOnExit();
+            return script;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.chs.webapp.integration.datasource;
+
+import com.chs.webapp.datasource.QueryBudget;
+import com.chs.webapp.datasource.QueryBudgetViolation;
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SQL Statement Monitor Tests")
+@ExtendWith(OutputCaptureExtension.class)
+@Import(SqlStatementMonitorTest.OverBudgetController.class)
+@TestPropertySource(properties = "sql-monitor.slow-statement-threshold=0ms")
+public class SqlStatementMonitorTest extends BaseIntegrationTest {
+
+    private static final String OVER_BUDGET_ENDPOINT = "/test/sql-budget";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should record per-endpoint statement counts")
+    void shouldRecordStatementCountsPerEndpoint() throws InterruptedException {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        // 剛建立的產品已在 second-level cache，清掉讓 GET 真的查詢資料庫
+        entityManagerFactory.getCache().evictAll();
+
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+
+        DistributionSummary statements = await(() -> meterRegistry.find("http.server.requests.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/v1/product/{id}")
+                .summary());
+        assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find("http.server.requests.sql.time").tag("uri", "/v1/product/{id}").timer())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should log slow statements with parameter types only")
+    void shouldLogSlowStatementParameterShapes(CapturedOutput output) throws InterruptedException {
+        String email = generateUniqueEmail();
+        UserTestData userData = createUserAndGetData(email, "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        entityManagerFactory.getCache().evictAll();
+
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+
+        // 門檻為 0ms，每個 statement 都會記錄；查詢條件是產品 id，只應出現型別
+        await(() -> output.getOut().contains("Slow SQL statement") && output.getOut().contains("params=[UUID]") ? output : null);
+        assertThat(output.getOut().lines().filter(line -> line.contains("Slow SQL statement")))
+                .noneMatch(line -> line.contains(email));
+    }
+
+    @Test
+    @DisplayName("Should report endpoints exceeding their declared query budget")
+    void shouldReportBudgetViolations() throws InterruptedException {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(OVER_BUDGET_ENDPOINT)
+                .then().statusCode(HttpStatus.OK.value());
+
+        List<QueryBudgetViolation> violations = await(() -> {
+            List<QueryBudgetViolation> drained = queryBudgetViolations.drain();
+            return drained.isEmpty() ? null : drained;
+        });
+        assertThat(violations).containsExactly(new QueryBudgetViolation("GET " + OVER_BUDGET_ENDPOINT, 1, 2));
+    }
+
+    /**
+     * 指標與違規在回應送出後才記錄，稍等一下
+     */
+    private static <T> T await(Supplier<T> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        do {
+            T result = condition.get();
+            if (result != null) {
+                return result;
+            }
+            Thread.sleep(50);
+        } while (System.currentTimeMillis() < deadline);
+        throw new AssertionError("Condition not met within 5s");
+    }
+
+    @RestController
+    static class OverBudgetController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        OverBudgetController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping(OVER_BUDGET_ENDPOINT)
+        @QueryBudget(1)
+        public int overBudget() {
+            jdbcTemplate.queryForObject("SELECT count(*) FROM products", Integer.class);
+            return jdbcTemplate.queryForObject("SELECT count(*) FROM images", Integer.class);
+        }
+    }
+}
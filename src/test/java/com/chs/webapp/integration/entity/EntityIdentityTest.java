@@ -0,0 +1,137 @@
+package com.chs.webapp.integration.entity;
+
+import com.chs.webapp.entity.Image;
+import com.chs.webapp.entity.Product;
+import com.chs.webapp.entity.User;
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.repository.ImageRepository;
+import com.chs.webapp.repository.ProductRepository;
+import com.chs.webapp.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 對 detached entity 與未初始化的 proxy 做 equals / hashCode / toString / Set 操作都不應該發出 SQL
+ * （detached proxy 若被初始化會直接丟出 LazyInitializationException）
+ */
+@DisplayName("Entity Identity Tests")
+public class EntityIdentityTest extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityIdentityTest.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUpStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should hash, compare and log an uninitialized proxy without SQL")
+    void shouldHandleProxyWithoutSql() {
+        UUID productId = createProduct();
+        Product loaded = productRepository.findById(productId).orElseThrow();
+        Product proxy = productRepository.getReferenceById(productId);
+
+        statistics.clear();
+        Set<Product> products = new HashSet<>();
+        products.add(proxy);
+        log.info("Product proxy: {}", proxy);
+
+        assertThat(products).contains(loaded);
+        assertThat(proxy).isEqualTo(loaded);
+        assertThat(loaded).isEqualTo(proxy);
+        assertThat(proxy.hashCode()).isEqualTo(loaded.hashCode());
+        assertThat(proxy.toString()).isEqualTo("Product(id=" + productId + ", uninitialized)");
+
+        assertThat(Hibernate.isInitialized(proxy)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not load lazy associations when logging or hashing a detached entity")
+    void shouldNotTouchLazyAssociations() {
+        UUID productId = createProduct();
+        Image saved = imageRepository.save(Image.builder()
+                .product(productRepository.getReferenceById(productId))
+                .fileName("test.png")
+                .s3BucketPath("test/" + UUID.randomUUID())
+                .build());
+        Image image = imageRepository.findById(saved.getImageId()).orElseThrow();
+
+        statistics.clear();
+        Set<Image> images = new HashSet<>(Set.of(image));
+        log.info("Image: {}, product: {}", image, image.getProduct());
+
+        assertThat(images).contains(saved);
+        assertThat(image.toString()).doesNotContain("product");
+        assertThat(image.getProduct().getId()).isEqualTo(productId);
+
+        assertThat(Hibernate.isInitialized(image.getProduct())).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep a transient entity in a set after it is persisted")
+    void shouldKeepHashCodeStableAcrossPersist() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        Product product = Product.builder()
+                .name("Transient")
+                .sku(generateUniqueSku())
+                .manufacturer("Maker")
+                .quantity(1)
+                .owner(userRepository.getReferenceById(UUID.fromString(userData.userId())))
+                .build();
+        Set<Product> products = new HashSet<>(Set.of(product));
+
+        // 未 persist 的 entity 沒有 id，只和自己相等
+        assertThat(product).isNotEqualTo(Product.builder().name("Transient").build());
+
+        Product saved = productRepository.save(product);
+        assertThat(products).contains(saved);
+        assertThat(products).contains(productRepository.findById(saved.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should not include the password hash in toString")
+    void shouldNotLogPasswordHash() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        User user = userRepository.findByEmail(userData.email()).orElseThrow();
+
+        assertThat(user.toString())
+                .contains(userData.email())
+                .doesNotContain(user.getPassword());
+    }
+
+    private UUID createProduct() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        return UUID.fromString(createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1));
+    }
+}
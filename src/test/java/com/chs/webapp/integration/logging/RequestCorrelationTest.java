@@ -0,0 +1,49 @@
+package com.chs.webapp.integration.logging;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Request Correlation Id Tests")
+public class RequestCorrelationTest extends BaseIntegrationTest {
+
+    @Test
+    @DisplayName("Should echo a valid upstream request id")
+    void shouldEchoUpstreamRequestId() {
+        given()
+                .header("X-Request-Id", "alb-1234.abcd_EF")
+                .when().get(HEALTH_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("X-Request-Id", equalTo("alb-1234.abcd_EF"));
+    }
+
+    @Test
+    @DisplayName("Should generate a request id when none or an invalid one is sent")
+    void shouldGenerateRequestId() {
+        given()
+                .when().get(HEALTH_ENDPOINT)
+                .then()
+                .header("X-Request-Id", matchesPattern("[0-9a-f-]{36}"));
+
+        given()
+                .header("X-Request-Id", "bad id\nwith newline")
+                .when().get(HEALTH_ENDPOINT)
+                .then()
+                .header("X-Request-Id", matchesPattern("[0-9a-f-]{36}"));
+    }
+
+    @Test
+    @DisplayName("Should attach a request id to rejected requests too")
+    void shouldAttachRequestIdToUnauthorizedResponses() {
+        given()
+                .when().get(USER_ENDPOINT + "/00000000-0000-0000-0000-000000000000")
+                .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value())
+                .header("X-Request-Id", notNullValue());
+    }
+}
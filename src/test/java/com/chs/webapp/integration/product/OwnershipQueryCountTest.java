@@ -0,0 +1,111 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.service.S3Service;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Ownership Checks - SQL Statement Count Tests")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "security.user-cache.ttl=5m"
+})
+public class OwnershipQueryCountTest extends BaseIntegrationTest {
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        when(s3Service.uploadFile(any(), any(), any())).thenAnswer(invocation -> "test/" + UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should upload image with a constant number of statements")
+    void shouldUploadImageWithinStatementBudget() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        statistics.clear();
+        uploadImage(userData.authHeader(), productId);
+
+        // ownership exists-check + INSERT
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should delete image with a constant number of statements")
+    void shouldDeleteImageWithinStatementBudget() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        String imageId = uploadImage(userData.authHeader(), productId);
+
+        statistics.clear();
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + productId + "/image/" + imageId)
+                .then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        // owned-path SELECT + DELETE
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should delete product with images with a constant number of statements")
+    void shouldDeleteProductWithinStatementBudget() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        uploadImage(userData.authHeader(), productId);
+        uploadImage(userData.authHeader(), productId);
+        uploadImage(userData.authHeader(), productId);
+
+        statistics.clear();
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        // ownership exists-check + image paths SELECT + image DELETE + product DELETE，與圖片數量無關
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should still distinguish forbidden from not found")
+    void shouldReturnForbiddenForOtherUsersProduct() {
+        UserTestData owner = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        UserTestData other = createUserAndGetData("other" + generateUniqueEmail(), "Pass123!", "Jane", "Doe");
+        String productId = createTestProduct(owner.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .header("Authorization", other.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.FORBIDDEN.value());
+
+        given()
+                .header("Authorization", other.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + UUID.randomUUID())
+                .then().statusCode(HttpStatus.NOT_FOUND.value());
+    }
+}
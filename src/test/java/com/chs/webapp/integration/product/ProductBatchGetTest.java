@@ -0,0 +1,66 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Product API - Batch Get Tests")
+public class ProductBatchGetTest extends BaseIntegrationTest {
+
+    private static final String BATCH_GET_ENDPOINT = PRODUCT_ENDPOINT + "/batch-get";
+
+    @Test
+    @DisplayName("Should return products in request order with not-found markers")
+    void shouldReturnProductsInRequestOrder() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String first = createTestProduct(userData.authHeader(), generateUniqueSku() + "1", "First", "Desc", "Maker", 1);
+        String second = createTestProduct(userData.authHeader(), generateUniqueSku() + "2", "Second", "Desc", "Maker", 2);
+        String missing = UUID.randomUUID().toString();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"ids\": [\"%s\", \"%s\", \"%s\"]}", second, missing, first))
+                .when().post(BATCH_GET_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items.id", contains(second, missing, first))
+                .body("items.found", contains(true, false, true))
+                .body("items[0].product.name", equalTo("Second"))
+                .body("items[1]", not(hasKey("product")))
+                .body("items[2].product.ownerUserId", equalTo(userData.userId()));
+    }
+
+    @Test
+    @DisplayName("Should reject empty id list")
+    void shouldRejectEmptyIds() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"ids\": []}")
+                .when().post(BATCH_GET_ENDPOINT)
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("Should reject more ids than the configured limit")
+    void shouldRejectTooManyIds() {
+        String ids = IntStream.range(0, 101)
+                .mapToObj(i -> "\"" + UUID.randomUUID() + "\"")
+                .collect(Collectors.joining(","));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"ids\": [" + ids + "]}")
+                .when().post(BATCH_GET_ENDPOINT)
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -0,0 +1,82 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+@DisplayName("Product API - Binary Format Negotiation Tests")
+public class ProductBinaryFormatTest extends BaseIntegrationTest {
+
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Test
+    @DisplayName("Should return JSON when no Accept header is sent")
+    void shouldDefaultToJson() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith("application/json"))
+                .body("id", equalTo(productId));
+    }
+
+    @Test
+    @DisplayName("Should return CBOR with the same fields when requested")
+    void shouldReturnCbor() throws IOException {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String sku = generateUniqueSku();
+        String productId = createTestProduct(userData.authHeader(), sku, "Product", "Desc", "Maker", 1);
+
+        byte[] body = given()
+                .header("Authorization", userData.authHeader())
+                .accept(CBOR)
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith(CBOR))
+                .extract().asByteArray();
+
+        JsonNode products = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(products.isArray()).isTrue();
+        assertThat(products.get(0).get("id").asText()).isEqualTo(productId);
+        assertThat(products.get(0).get("sku").asText()).isEqualTo(sku);
+        assertThat(products.get(0).get("dateAdded").isTextual()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return Smile when requested")
+    void shouldReturnSmile() throws IOException {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        byte[] body = given()
+                .accept(SMILE)
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith(SMILE))
+                .header("Vary", containsString("Accept"))
+                .extract().asByteArray();
+
+        JsonNode product = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(product.get("id").asText()).isEqualTo(productId);
+    }
+}
@@ -0,0 +1,142 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.service.S3Service;
+import io.restassured.response.Response;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Image API - Paginated Listing")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "security.user-cache.ttl=5m"
+})
+public class ProductImageListingTest extends BaseIntegrationTest {
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUpMocks() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        when(s3Service.uploadFile(any(), any(), any())).thenAnswer(invocation -> "test/" + UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should walk all pages with the cursor without duplicates")
+    void shouldPageThroughImages() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        List<String> uploaded = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            uploaded.add(uploadImage(userData.authHeader(), productId));
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = given()
+                    .header("Authorization", userData.authHeader())
+                    .queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("cursor", cursor);
+            }
+            Response response = request.when().get(PRODUCT_ENDPOINT + "/" + productId + "/image")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("size()", lessThanOrEqualTo(2))
+                    .extract().response();
+            seen.addAll(response.jsonPath().getList("imageId"));
+            cursor = response.getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(uploaded);
+    }
+
+    @Test
+    @DisplayName("Should list images with a single query")
+    void shouldListImagesWithSingleQuery() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        uploadImage(userData.authHeader(), productId);
+        uploadImage(userData.authHeader(), productId);
+
+        statistics.clear();
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/" + productId + "/image")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("X-Next-Cursor", nullValue())
+                .body("size()", equalTo(2));
+
+        // 只有圖片投影查詢，不載入 Product / Image entity
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return empty list for product without images and 404 for unknown product")
+    void shouldDistinguishEmptyFromMissing() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/" + productId + "/image")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(0));
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/" + UUID.randomUUID() + "/image")
+                .then().statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid cursor and limit")
+    void shouldRejectInvalidParameters() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .queryParam("cursor", "not-a-cursor")
+                .when().get(PRODUCT_ENDPOINT + "/" + productId + "/image")
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .queryParam("limit", 0)
+                .when().get(PRODUCT_ENDPOINT + "/" + productId + "/image")
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -0,0 +1,105 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.service.S3Service;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Product API - Owner Listing With Image Summaries")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "security.user-cache.ttl=5m"
+})
+public class ProductImageSummaryTest extends BaseIntegrationTest {
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUpMocks() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        when(s3Service.uploadFile(any(), any(), any())).thenAnswer(invocation -> "test/" + UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should embed image count and first N images in two queries")
+    void shouldEmbedImageSummaries() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String withImages = createTestProduct(userData.authHeader(), generateUniqueSku() + "A", "With", "Desc", "Maker", 1);
+        String withoutImages = createTestProduct(userData.authHeader(), generateUniqueSku() + "B", "Without", "Desc", "Maker", 1);
+        for (int i = 0; i < 3; i++) {
+            uploadImage(userData.authHeader(), withImages);
+        }
+
+        statistics.clear();
+        given()
+                .header("Authorization", userData.authHeader())
+                .queryParam("includeImages", true)
+                .queryParam("imagesPerProduct", 2)
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("find { it.id == '" + withImages + "' }.images.count", equalTo(3))
+                .body("find { it.id == '" + withImages + "' }.images.items", hasSize(2))
+                .body("find { it.id == '" + withoutImages + "' }.images.count", equalTo(0));
+
+        // products SELECT + images SELECT，與產品數量無關
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return the image count without items when imagesPerProduct is 0")
+    void shouldCountImagesWithoutItems() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "With", "Desc", "Maker", 1);
+        for (int i = 0; i < 3; i++) {
+            uploadImage(userData.authHeader(), productId);
+        }
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .queryParam("includeImages", true)
+                .queryParam("imagesPerProduct", 0)
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("[0].images.count", equalTo(3))
+                .body("[0].images.items", empty());
+    }
+
+    @Test
+    @DisplayName("Should not include images by default")
+    void shouldOmitImagesByDefault() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        createTestProduct(userData.authHeader(), generateUniqueSku(), "Plain", "Desc", "Maker", 1);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("[0]", not(hasKey("images")));
+    }
+}
@@ -0,0 +1,48 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Product API - List Response Encoding Tests")
+public class ProductListResponseTest extends BaseIntegrationTest {
+
+    @Test
+    @DisplayName("Should gzip large list responses when the client accepts it")
+    void shouldCompressLargeListResponses() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        for (int i = 0; i < 10; i++) {
+            createTestProduct(userData.authHeader(), generateUniqueSku() + "-" + i, "Product " + i,
+                    "A reasonably long product description used to push the response over the threshold", "Maker", i);
+        }
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .header("Accept-Encoding", "gzip")
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Content-Encoding", equalTo("gzip"))
+                .body("size()", equalTo(10));
+    }
+
+    @Test
+    @DisplayName("Should serialize timestamps in ISO-8601 local date-time format")
+    void shouldSerializeTimestampsAsIsoStrings() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("[0].dateAdded", matchesPattern("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,9})?"))
+                .body("[0].dateLastUpdated", matchesPattern("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,9})?"));
+    }
+}
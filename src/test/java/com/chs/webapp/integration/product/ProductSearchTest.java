@@ -0,0 +1,73 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.PostgresIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Product API - Search Tests (PostgreSQL)")
+public class ProductSearchTest extends PostgresIntegrationTest {
+
+    private static final String SEARCH_ENDPOINT = PRODUCT_ENDPOINT + "/search";
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void shouldRankFullTextMatches() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String token = "zephyr" + System.nanoTime();
+        String nameMatch = createTestProduct(userData.authHeader(), generateUniqueSku() + "A",
+                token + " Speaker", "Portable audio", "Acme", 1);
+        String descriptionMatch = createTestProduct(userData.authHeader(), generateUniqueSku() + "B",
+                "Plain Speaker", "Works great with " + token, "Acme", 1);
+
+        given()
+                .queryParam("q", token)
+                .when().get(SEARCH_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items.id", contains(nameMatch, descriptionMatch))
+                .body("hasNext", equalTo(false));
+    }
+
+    @Test
+    @DisplayName("Should find products by case-insensitive SKU prefix")
+    void shouldFindBySkuPrefix() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String prefix = "PFX" + System.nanoTime();
+        createTestProduct(userData.authHeader(), prefix + "-001", "One", "Desc", "Acme", 1);
+        createTestProduct(userData.authHeader(), prefix + "-002", "Two", "Desc", "Acme", 1);
+        createTestProduct(userData.authHeader(), prefix + "-003", "Three", "Desc", "Acme", 1);
+
+        given()
+                .queryParam("sku", prefix.toLowerCase())
+                .queryParam("size", 2)
+                .when().get(SEARCH_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items.sku", contains(prefix + "-001", prefix + "-002"))
+                .body("hasNext", equalTo(true));
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in SKU prefix literally")
+    void shouldEscapeWildcardsInSkuPrefix() {
+        given()
+                .queryParam("sku", "%")
+                .when().get(SEARCH_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items", empty());
+    }
+
+    @Test
+    @DisplayName("Should reject search without q or sku")
+    void shouldRejectMissingCriteria() {
+        given()
+                .when().get(SEARCH_ENDPOINT)
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -0,0 +1,82 @@
+package com.chs.webapp.integration.product;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+@DisplayName("Product API - SKU Lookup Tests")
+public class ProductSkuLookupTest extends BaseIntegrationTest {
+
+    private static final String SKU_ENDPOINT = PRODUCT_ENDPOINT + "/sku/";
+
+    @Test
+    @DisplayName("Should get product by SKU without authentication")
+    void shouldGetProductBySku() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String sku = generateUniqueSku();
+        String productId = createTestProduct(userData.authHeader(), sku, "Test Product", "Description", "Manufacturer", 5);
+
+        given()
+                .when().get(SKU_ENDPOINT + sku)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", equalTo(productId))
+                .body("sku", equalTo(sku));
+    }
+
+    @Test
+    @DisplayName("Should follow SKU changes and deletes")
+    void shouldKeepSkuLookupInSyncWithWrites() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String oldSku = generateUniqueSku();
+        String newSku = oldSku + "-NEW";
+        String productId = createTestProduct(userData.authHeader(), oldSku, "Test Product", "Description", "Manufacturer", 5);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"sku\": \"%s\"}", newSku))
+                .when().put(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.OK.value());
+
+        given().when().get(SKU_ENDPOINT + oldSku).then().statusCode(HttpStatus.NOT_FOUND.value());
+        given().when().get(SKU_ENDPOINT + newSku).then().statusCode(HttpStatus.OK.value())
+                .body("id", equalTo(productId));
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(PRODUCT_ENDPOINT + "/" + productId)
+                .then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        given().when().get(SKU_ENDPOINT + newSku).then().statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate SKU")
+    void shouldRejectDuplicateSku() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String sku = generateUniqueSku();
+        createTestProduct(userData.authHeader(), sku, "First", "Description", "Manufacturer", 1);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {
+                            "sku": "%s",
+                            "name": "Second",
+                            "description": "Description",
+                            "manufacturer": "Manufacturer",
+                            "quantity": 1
+                        }
+                        """, sku))
+                .when().post(PRODUCT_ENDPOINT)
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -0,0 +1,50 @@
+package com.chs.webapp.integration.security;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Password Rehash Tests")
+public class PasswordRehashTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should rehash legacy low-cost bcrypt hash on successful login")
+    void shouldRehashLegacyHashOnLogin() {
+        String password = "Pass123!";
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), password, "John", "Doe");
+
+        // 模擬舊資料：沒有 {id} 前綴、strength 較低的 bcrypt 雜湊
+        String legacyHash = new BCryptPasswordEncoder(4).encode(password);
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.updatePasswordByEmail(userData.email(), legacyHash));
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(USER_ENDPOINT + "/" + userData.userId())
+                .then().statusCode(HttpStatus.OK.value());
+
+        String storedHash = userRepository.findByEmail(userData.email()).orElseThrow().getPassword();
+        assertThat(storedHash).startsWith("{bcrypt}$2a$10$");
+
+        // 重新雜湊後仍可用原密碼登入
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(USER_ENDPOINT + "/" + userData.userId())
+                .then().statusCode(HttpStatus.OK.value());
+    }
+}
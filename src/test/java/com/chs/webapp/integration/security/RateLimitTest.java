@@ -0,0 +1,83 @@
+package com.chs.webapp.integration.security;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Base64;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@DisplayName("Rate Limiting Tests")
+@TestPropertySource(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.auth.permits-per-second=0.01",
+        "rate-limit.auth.burst=3",
+        "rate-limit.write.permits-per-second=100",
+        "rate-limit.write.burst=100"
+})
+public class RateLimitTest extends BaseIntegrationTest {
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After after repeated Basic auth failures")
+    void shouldRejectBruteForceWithTooManyRequests() {
+        String email = generateUniqueEmail();
+        String wrongAuth = "Basic " + Base64.getEncoder()
+                .encodeToString((email + ":WrongPass1!").getBytes());
+
+        for (int i = 0; i < 3; i++) {
+            given()
+                    .header("Authorization", wrongAuth)
+                    .when().get(PRODUCT_ENDPOINT + "/user")
+                    .then().statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+        given()
+                .header("Authorization", wrongAuth)
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .then()
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .header("Retry-After", notNullValue())
+                .body("error", equalTo("Too many requests"));
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per client IP forwarded by the load balancer")
+    void shouldLimitPerForwardedClientIp() {
+        // 測試連線來自 127.0.0.1（屬於 RemoteIpValve 信任的 proxy），client IP 由 X-Forwarded-For 決定
+        for (int i = 0; i < 3; i++) {
+            failBasicAuth("203.0.113.10").then().statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+        failBasicAuth("203.0.113.10").then().statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        failBasicAuth("203.0.113.20").then().statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    @DisplayName("Should not rate limit health check")
+    void shouldNotLimitHealthCheck() {
+        for (int i = 0; i < 10; i++) {
+            given()
+                    .when().get(HEALTH_ENDPOINT)
+                    .then().statusCode(HttpStatus.OK.value());
+        }
+    }
+
+    /**
+     * 每次使用不同帳號，只有來源 IP 的 auth 預算會累計
+     */
+    private Response failBasicAuth(String clientIp) {
+        String wrongAuth = "Basic " + Base64.getEncoder()
+                .encodeToString((generateUniqueEmail() + ":WrongPass1!").getBytes());
+        return given()
+                .header("Authorization", wrongAuth)
+                .header("X-Forwarded-For", clientIp)
+                .when().get(PRODUCT_ENDPOINT + "/user")
+                .andReturn();
+    }
+}
@@ -0,0 +1,193 @@
+package com.chs.webapp.integration.security;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.repository.UserRepository;
+import com.chs.webapp.security.UserLookupCache;
+import com.chs.webapp.service.UserService;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@DisplayName("Token Authentication Tests")
+public class TokenAuthTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static final String TOKEN_ENDPOINT = BASE_PATH + "/auth/token";
+    private static final String REFRESH_ENDPOINT = BASE_PATH + "/auth/refresh";
+
+    @Test
+    @DisplayName("Should exchange Basic credentials for a usable access token")
+    void shouldIssueAndAcceptAccessToken() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        JsonPath tokens = issueTokens(userData.authHeader());
+
+        given()
+                .header("Authorization", "Bearer " + tokens.getString("accessToken"))
+                .when().get(USER_ENDPOINT + "/" + userData.userId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("email", equalTo(userData.email()));
+    }
+
+    @Test
+    @DisplayName("Should refresh tokens with a valid refresh token")
+    void shouldRefreshTokens() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        JsonPath tokens = issueTokens(userData.authHeader());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"refreshToken\": \"%s\"}", tokens.getString("refreshToken")))
+                .when().post(REFRESH_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("accessToken", notNullValue())
+                .body("refreshToken", notNullValue());
+    }
+
+    @Test
+    @DisplayName("Should rotate refresh tokens and revoke the family when an old one is reused")
+    void shouldRotateRefreshTokensAndDetectReuse() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String original = issueTokens(userData.authHeader()).getString("refreshToken");
+
+        String rotated = refresh(original)
+                .then().statusCode(HttpStatus.OK.value())
+                .extract().path("refreshToken");
+        assertThat(rotated).isNotEqualTo(original);
+
+        // 舊的 refresh token 再次出現：拒絕，且同一個 family 中最新的 token 也一併失效
+        refresh(original).then().statusCode(HttpStatus.UNAUTHORIZED.value());
+        refresh(rotated).then().statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    @DisplayName("Should reject access tokens after a password change made on another instance")
+    void shouldRevokeAccessTokenAfterRemotePasswordChange() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String accessToken = issueTokens(userData.authHeader()).getString("accessToken");
+
+        // 其他 instance 直接更新資料庫；本機快取過了 TTL 後重新載入
+        transactionTemplate.executeWithoutResult(status -> userRepository.findByEmail(userData.email())
+                .ifPresent(user -> user.setPasswordVersion(user.getPasswordVersion() + 1)));
+        userLookupCache.evict(userData.email());
+
+        given()
+                .header("Authorization", "Bearer " + accessToken)
+                .when().get(USER_ENDPOINT + "/" + userData.userId())
+                .then().statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    @DisplayName("Should reject access token used as refresh token")
+    void shouldRejectAccessTokenOnRefresh() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        JsonPath tokens = issueTokens(userData.authHeader());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"refreshToken\": \"%s\"}", tokens.getString("accessToken")))
+                .when().post(REFRESH_ENDPOINT)
+                .then().statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens after password change")
+    void shouldRevokeTokensAfterPasswordChange() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        JsonPath tokens = issueTokens(userData.authHeader());
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .contentType(ContentType.JSON)
+                .body("{\"password\": \"NewPass456!\"}")
+                .when().put(USER_ENDPOINT + "/" + userData.userId())
+                .then().statusCode(HttpStatus.OK.value());
+
+        given()
+                .header("Authorization", "Bearer " + tokens.getString("accessToken"))
+                .when().get(USER_ENDPOINT + "/" + userData.userId())
+                .then().statusCode(HttpStatus.UNAUTHORIZED.value());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"refreshToken\": \"%s\"}", tokens.getString("refreshToken")))
+                .when().post(REFRESH_ENDPOINT)
+                .then().statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    @DisplayName("Should keep tokens valid after a transparent password rehash")
+    void shouldKeepTokensAfterRehash() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        JsonPath tokens = issueTokens(userData.authHeader());
+
+        // 登入時以新的雜湊參數重新儲存同一個密碼
+        userService.rehashPassword(userData.email(), new BCryptPasswordEncoder(4).encode("Pass123!"));
+
+        given()
+                .header("Authorization", "Bearer " + tokens.getString("accessToken"))
+                .when().get(USER_ENDPOINT + "/" + userData.userId())
+                .then().statusCode(HttpStatus.OK.value());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"refreshToken\": \"%s\"}", tokens.getString("refreshToken")))
+                .when().post(REFRESH_ENDPOINT)
+                .then().statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName("Should reject tampered token")
+    void shouldRejectTamperedToken() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String accessToken = issueTokens(userData.authHeader()).getString("accessToken");
+        String tampered = accessToken.substring(0, accessToken.length() - 2) + "xx";
+
+        given()
+                .header("Authorization", "Bearer " + tampered)
+                .when().get(USER_ENDPOINT + "/" + userData.userId())
+                .then().statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    private Response refresh(String refreshToken) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"refreshToken\": \"%s\"}", refreshToken))
+                .when().post(REFRESH_ENDPOINT)
+                .andReturn();
+    }
+
+    private JsonPath issueTokens(String authHeader) {
+        return given()
+                .header("Authorization", authHeader)
+                .when().post(TOKEN_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("tokenType", equalTo("Bearer"))
+                .extract().jsonPath();
+    }
+}
@@ -0,0 +1,123 @@
+package com.chs.webapp.integration.shutdown;
+
+import com.chs.webapp.WebappApplication;
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.integration.storage.LocalS3Server;
+import com.chs.webapp.shutdown.InFlightS3Operations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 關閉的是測試自己啟動的 context（獨立的 H2 資料庫、LocalS3Server），不影響 Spring 測試框架快取的 context
+ */
+@DisplayName("Graceful Shutdown")
+public class GracefulShutdownTest extends BaseIntegrationTest {
+
+    private final LocalS3Server s3 = LocalS3Server.start();
+    private ConfigurableApplicationContext shutdownContext;
+
+    @AfterEach
+    void closeShutdownContext() {
+        s3.releaseRequests();
+        if (shutdownContext != null) {
+            shutdownContext.close();
+        }
+        s3.close();
+    }
+
+    @Test
+    @DisplayName("Should fail /health first, keep serving, and finish an in-flight upload before stopping")
+    void shouldDrainInFlightUploadOnShutdown() throws Exception {
+        shutdownContext = startApplication();
+        RestAssured.port = ((WebServerApplicationContext) shutdownContext).getWebServer().getPort();
+        InFlightS3Operations inFlightS3Operations = shutdownContext.getBean(InFlightS3Operations.class);
+        MeterRegistry meterRegistry = shutdownContext.getBean(MeterRegistry.class);
+
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        s3.holdRequests();
+        CompletableFuture<Response> upload = CompletableFuture.supplyAsync(() -> given()
+                .header("Authorization", userData.authHeader())
+                .multiPart("file", "test.png", PNG_BYTES, "image/png")
+                .when().post(PRODUCT_ENDPOINT + "/" + productId + "/image")
+                .andReturn());
+        awaitInFlight(inFlightS3Operations);
+
+        CompletableFuture<Void> shutdown = CompletableFuture.runAsync(shutdownContext::close);
+
+        // readiness-delay 期間 /health 回 503，其他請求照常處理
+        awaitHealthStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        given()
+                .when().get(PRODUCT_ENDPOINT + "/" + productId)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        // S3 PUT 完成前關閉流程不會結束
+        assertThat(shutdown).isNotDone();
+        s3.releaseRequests();
+
+        assertThat(upload.get(30, TimeUnit.SECONDS).statusCode()).isEqualTo(HttpStatus.CREATED.value());
+        shutdown.get(60, TimeUnit.SECONDS);
+
+        assertThat(inFlightS3Operations.count()).isZero();
+        // registry 已隨 context 關閉，meter 是啟動時註冊的，關閉期間的紀錄仍可讀取
+        assertThat(meterRegistry.get("application.shutdown.phase").tag("phase", "readiness-delay").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("application.shutdown.phase").tag("phase", "readiness-delay").timer()
+                .totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(3);
+        assertThat(meterRegistry.get("application.shutdown.phase").tag("phase", "s3-drain").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("s3.operations.abandoned").counter().count()).isZero();
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        // 命令列參數的優先序高於 application-test.properties
+        return new SpringApplicationBuilder(WebappApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:graceful-shutdown-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--graceful-shutdown.readiness-delay=3s",
+                        "--aws.s3.bucket-name=test-bucket",
+                        "--aws.s3.endpoint=" + s3.endpoint(),
+                        "--aws.s3.path-style-access=true",
+                        "--aws.s3.credentials.provider=static",
+                        "--aws.s3.credentials.access-key-id=test",
+                        "--aws.s3.credentials.secret-access-key=test");
+    }
+
+    private static void awaitInFlight(InFlightS3Operations inFlightS3Operations) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (inFlightS3Operations.count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(inFlightS3Operations.count()).isEqualTo(1);
+    }
+
+    private void awaitHealthStatus(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        int status = -1;
+        while (System.currentTimeMillis() < deadline) {
+            status = given().when().get(HEALTH_ENDPOINT).statusCode();
+            if (status == expected) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        assertThat(status).as("/health status during shutdown").isEqualTo(expected);
+    }
+}
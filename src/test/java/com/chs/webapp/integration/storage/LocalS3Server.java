@@ -0,0 +1,334 @@
+package com.chs.webapp.integration.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 測試用的 S3 相容服務（JDK HttpServer，只支援 path-style）：PutObject / CopyObject / GetObject / HeadObject / DeleteObject
+ * 可注入延遲、暫停回應、503 SlowDown（節流）與 500 InternalError（部分失敗），並記錄每個請求，用來驗證 SDK 的重試與退避
+ * S3Client 需設定 aws.s3.endpoint、aws.s3.path-style-access=true 與 static credentials（內容不驗證）
+ */
+public class LocalS3Server implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger throttleNext = new AtomicInteger();
+    private final AtomicInteger failNext = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double throttleRate;
+    private volatile double failureRate;
+    private volatile Random random = new Random(0);
+    private volatile CountDownLatch hold;
+
+    private LocalS3Server(HttpServer server) {
+        this.server = server;
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public static LocalS3Server start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            LocalS3Server s3 = new LocalS3Server(server);
+            server.start();
+            return s3;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public URI endpoint() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    /** 每個請求回應前的固定延遲 */
+    public LocalS3Server latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /** 接下來 n 個請求回 503 SlowDown */
+    public LocalS3Server throttleNext(int count) {
+        throttleNext.set(count);
+        return this;
+    }
+
+    /** 接下來 n 個請求回 500 InternalError */
+    public LocalS3Server failNext(int count) {
+        failNext.set(count);
+        return this;
+    }
+
+    /** 每個請求以固定機率回 503 SlowDown */
+    public LocalS3Server throttleRate(double rate) {
+        this.throttleRate = rate;
+        return this;
+    }
+
+    /** 每個請求以固定機率回 500 InternalError */
+    public LocalS3Server failureRate(double rate) {
+        this.failureRate = rate;
+        return this;
+    }
+
+    /** 之後的請求在回應前等待，直到 releaseRequests()（用來讓操作停在進行中） */
+    public LocalS3Server holdRequests() {
+        hold = new CountDownLatch(1);
+        return this;
+    }
+
+    public void releaseRequests() {
+        CountDownLatch held = hold;
+        hold = null;
+        if (held != null) {
+            held.countDown();
+        }
+    }
+
+    /** 清除所有注入的錯誤與延遲，機率錯誤的亂數以固定 seed 重新開始 */
+    public void resetFaults() {
+        releaseRequests();
+        latency = Duration.ZERO;
+        throttleNext.set(0);
+        failNext.set(0);
+        throttleRate = 0;
+        failureRate = 0;
+        random = new Random(0);
+    }
+
+    public Optional<byte[]> object(String bucket, String key) {
+        return Optional.ofNullable(objects.get(bucket + "/" + key));
+    }
+
+    public List<RecordedRequest> requests() {
+        return List.copyOf(requests);
+    }
+
+    public List<RecordedRequest> requests(String method) {
+        return requests.stream().filter(request -> request.method().equals(method)).toList();
+    }
+
+    public void clearRequests() {
+        requests.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long receivedAt = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(1);
+        int slash = path.indexOf('/');
+        String bucket = slash < 0 ? path : path.substring(0, slash);
+        String key = slash < 0 ? "" : path.substring(slash + 1);
+
+        int status;
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            sleep(latency);
+            await(hold);
+
+            if (consume(throttleNext) || random.nextDouble() < throttleRate) {
+                status = error(exchange, 503, "SlowDown", "Please reduce your request rate.");
+            } else if (consume(failNext) || random.nextDouble() < failureRate) {
+                status = error(exchange, 500, "InternalError", "We encountered an internal error. Please try again.");
+            } else if (key.isEmpty()) {
+                status = error(exchange, 501, "NotImplemented", "Only object operations are supported");
+            } else {
+                status = switch (method) {
+                    case "PUT" -> exchange.getRequestHeaders().containsKey("x-amz-copy-source")
+                            ? copy(exchange, bucket, key)
+                            : put(exchange, bucket, key, body);
+                    case "GET" -> get(exchange, bucket, key);
+                    case "HEAD" -> head(exchange, bucket, key);
+                    case "DELETE" -> delete(exchange, bucket, key);
+                    default -> error(exchange, 405, "MethodNotAllowed", "Unsupported method " + method);
+                };
+            }
+        }
+        requests.add(new RecordedRequest(method, bucket, key, status, receivedAt));
+    }
+
+    private int put(HttpExchange exchange, String bucket, String key, byte[] body) throws IOException {
+        byte[] content = isAwsChunked(exchange) ? decodeAwsChunked(body) : body;
+        objects.put(bucket + "/" + key, content);
+        // SDK 會比對 PutObject 回應的 ETag 與上傳內容的 MD5
+        exchange.getResponseHeaders().set("ETag", etag(content));
+        exchange.sendResponseHeaders(200, -1);
+        return 200;
+    }
+
+    private int copy(HttpExchange exchange, String bucket, String key) throws IOException {
+        String source = URLDecoder.decode(exchange.getRequestHeaders().getFirst("x-amz-copy-source"), StandardCharsets.UTF_8);
+        if (source.startsWith("/")) {
+            source = source.substring(1);
+        }
+        int versionIndex = source.indexOf("?versionId=");
+        if (versionIndex >= 0) {
+            source = source.substring(0, versionIndex);
+        }
+
+        byte[] content = objects.get(source);
+        if (content == null) {
+            return error(exchange, 404, "NoSuchKey", "The specified key does not exist.");
+        }
+        objects.put(bucket + "/" + key, content);
+        return xml(exchange, 200, "<CopyObjectResult><LastModified>" + Instant.now().truncatedTo(ChronoUnit.MILLIS)
+                + "</LastModified><ETag>" + etag(content).replace("\"", "&quot;") + "</ETag></CopyObjectResult>");
+    }
+
+    private int get(HttpExchange exchange, String bucket, String key) throws IOException {
+        byte[] content = objects.get(bucket + "/" + key);
+        if (content == null) {
+            return error(exchange, 404, "NoSuchKey", "The specified key does not exist.");
+        }
+        exchange.getResponseHeaders().set("ETag", etag(content));
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+        exchange.sendResponseHeaders(200, content.length == 0 ? -1 : content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+        return 200;
+    }
+
+    private int head(HttpExchange exchange, String bucket, String key) throws IOException {
+        byte[] content = objects.get(bucket + "/" + key);
+        int status = content == null ? 404 : 200;
+        if (content != null) {
+            exchange.getResponseHeaders().set("ETag", etag(content));
+        }
+        exchange.sendResponseHeaders(status, -1);
+        return status;
+    }
+
+    private int delete(HttpExchange exchange, String bucket, String key) throws IOException {
+        objects.remove(bucket + "/" + key);
+        exchange.sendResponseHeaders(204, -1);
+        return 204;
+    }
+
+    private int error(HttpExchange exchange, int status, String code, String message) throws IOException {
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.sendResponseHeaders(status, -1);
+            return status;
+        }
+        return xml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + message
+                + "</Message><RequestId>" + UUID.randomUUID() + "</RequestId></Error>");
+    }
+
+    private static int xml(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        return status;
+    }
+
+    // SDK 在 http endpoint 上以 aws-chunked 串流簽章上傳：{hex 長度};chunk-signature=...\r\n{資料}\r\n ... 0;...\r\n\r\n
+    private static boolean isAwsChunked(HttpExchange exchange) {
+        String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        return (contentSha256 != null && contentSha256.startsWith("STREAMING-"))
+                || (contentEncoding != null && contentEncoding.contains("aws-chunked"));
+    }
+
+    private static byte[] decodeAwsChunked(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int pos = 0;
+        while (pos < body.length) {
+            int lineEnd = pos;
+            while (lineEnd + 1 < body.length && !(body[lineEnd] == '\r' && body[lineEnd + 1] == '\n')) {
+                lineEnd++;
+            }
+            String header = new String(body, pos, lineEnd - pos, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            pos = lineEnd + 2;
+            out.write(body, pos, size);
+            pos += size + 2;
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean consume(AtomicInteger remaining) {
+        return remaining.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0;
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        if (latch == null) {
+            return;
+        }
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param receivedAt 收到請求時的 System.nanoTime()，用來計算重試間隔
+     */
+    public record RecordedRequest(String method, String bucket, String key, int status, long receivedAt) { }
+}
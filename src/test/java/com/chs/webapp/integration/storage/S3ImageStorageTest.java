@@ -0,0 +1,160 @@
+package com.chs.webapp.integration.storage;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.integration.storage.LocalS3Server.RecordedRequest;
+import com.chs.webapp.service.S3Service;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+@DisplayName("S3 Image Storage (local S3 stand-in)")
+@TestPropertySource(properties = {
+        "aws.s3.bucket-name=test-bucket",
+        "aws.s3.path-style-access=true",
+        "aws.s3.credentials.provider=static",
+        "aws.s3.credentials.access-key-id=test",
+        "aws.s3.credentials.secret-access-key=test",
+        "aws.s3.retry.max-attempts=3",
+        "aws.s3.retry.base-delay=10ms",
+        "aws.s3.retry.throttling-base-delay=100ms",
+        "aws.s3.retry.max-backoff=400ms"
+})
+public class S3ImageStorageTest extends BaseIntegrationTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final LocalS3Server S3 = LocalS3Server.start();
+
+    @DynamicPropertySource
+    static void s3Endpoint(DynamicPropertyRegistry registry) {
+        registry.add("aws.s3.endpoint", () -> S3.endpoint().toString());
+    }
+
+    @AfterAll
+    static void stopS3() {
+        S3.close();
+    }
+
+    @Autowired
+    private S3Service s3Service;
+
+    @BeforeEach
+    void resetS3() {
+        S3.resetFaults();
+        S3.clearRequests();
+    }
+
+    @Test
+    @DisplayName("Should store the uploaded image in the bucket and remove it on delete")
+    void shouldUploadAndDeleteObject() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+
+        String imageId = upload(userData, productId).then().statusCode(HttpStatus.CREATED.value()).extract().path("imageId");
+        String s3Key = given()
+                .header("Authorization", userData.authHeader())
+                .when().get(imageEndpoint(productId) + "/" + imageId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().path("s3BucketPath");
+
+        assertThat(S3.object(BUCKET, s3Key)).hasValueSatisfying(content -> assertThat(content).isEqualTo(PNG_BYTES));
+        assertThat(s3Service.fileExists(s3Key)).isTrue();
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(imageEndpoint(productId) + "/" + imageId)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        assertThat(S3.object(BUCKET, s3Key)).isEmpty();
+        assertThat(s3Service.fileExists(s3Key)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should retry a throttled upload with backoff and succeed")
+    void shouldRetryThrottledUpload() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        S3.throttleNext(2);
+
+        upload(userData, productId).then().statusCode(HttpStatus.CREATED.value());
+
+        List<RecordedRequest> puts = S3.requests("PUT");
+        assertThat(puts).extracting(RecordedRequest::status).containsExactly(503, 503, 200);
+        assertThat(puts).extracting(RecordedRequest::key).containsOnly(puts.get(0).key());
+        // SlowDown 使用節流退避（equal jitter，至少等待基準的一半）
+        for (int i = 1; i < puts.size(); i++) {
+            assertThat(Duration.ofNanos(puts.get(i).receivedAt() - puts.get(i - 1).receivedAt()))
+                    .isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return 500 and keep no image after retries are exhausted")
+    void shouldFailUploadWhenThrottlingPersists() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        S3.throttleNext(10);
+
+        upload(userData, productId).then().statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+
+        List<RecordedRequest> puts = S3.requests("PUT");
+        assertThat(puts).hasSize(3).allSatisfy(put -> assertThat(put.status()).isEqualTo(503));
+        assertThat(S3.object(BUCKET, puts.get(0).key())).isEmpty();
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(imageEndpoint(productId))
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("$", hasSize(0));
+    }
+
+    @Test
+    @DisplayName("Should delete the image row even when S3 keeps failing")
+    void shouldDeleteRowWhenS3DeleteFails() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        String imageId = upload(userData, productId).then().statusCode(HttpStatus.CREATED.value()).extract().path("imageId");
+        S3.failNext(10);
+
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().delete(imageEndpoint(productId) + "/" + imageId)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        assertThat(S3.requests("DELETE")).hasSize(3).allSatisfy(delete -> assertThat(delete.status()).isEqualTo(500));
+        given()
+                .header("Authorization", userData.authHeader())
+                .when().get(imageEndpoint(productId) + "/" + imageId)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    private Response upload(UserTestData userData, String productId) {
+        return given()
+                .header("Authorization", userData.authHeader())
+                .multiPart("file", "test.png", PNG_BYTES, "image/png")
+                .when().post(imageEndpoint(productId))
+                .andReturn();
+    }
+
+    private static String imageEndpoint(String productId) {
+        return PRODUCT_ENDPOINT + "/" + productId + "/image";
+    }
+}
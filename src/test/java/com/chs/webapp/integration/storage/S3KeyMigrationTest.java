@@ -0,0 +1,148 @@
+package com.chs.webapp.integration.storage;
+
+import com.chs.webapp.entity.Image;
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.repository.ImageRepository;
+import com.chs.webapp.repository.ProductRepository;
+import com.chs.webapp.storage.S3KeyMigrator;
+import com.chs.webapp.storage.S3KeyStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("S3 Key Migration Tests")
+@TestPropertySource(properties = {
+        "s3-keys.migration.batch-size=2",
+        "aws.s3.bucket-name=test-bucket"
+})
+public class S3KeyMigrationTest extends BaseIntegrationTest {
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private S3KeyMigrator migrator;
+
+    @Autowired
+    private S3KeyStrategy keyStrategy;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Should move legacy keys in batches and skip keys already in the current layout")
+    void shouldMigrateLegacyKeys() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        UUID userId = UUID.fromString(userData.userId());
+        UUID productId = UUID.fromString(createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1));
+
+        List<Image> legacy = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            legacy.add(saveImage(productId, "My Photo (" + i + ").PNG",
+                    userId + "/" + productId + "/170000000000" + i + "-My Photo (" + i + ").PNG"));
+        }
+        String currentKey = keyStrategy.newImageKey(userId, productId, "current.png");
+        Image current = saveImage(productId, "current.png", currentKey);
+
+        S3KeyMigrator.MigrationResult result = migrator.migrateAll();
+
+        assertThat(result.failed()).isZero();
+        assertThat(result.migrated()).isGreaterThanOrEqualTo(3);
+        for (Image image : legacy) {
+            String newKey = imageRepository.findById(image.getImageId()).orElseThrow().getS3BucketPath();
+            assertThat(keyStrategy.isCurrentLayout(newKey)).isTrue();
+            assertThat(newKey).contains(userId + "/" + productId + "/").endsWith(".png");
+
+            verify(s3Client).copyObject(argThat((CopyObjectRequest request) ->
+                    request.sourceKey().equals(image.getS3BucketPath()) && request.destinationKey().equals(newKey)));
+            verify(s3Client).deleteObject(argThat((DeleteObjectRequest request) -> request.key().equals(image.getS3BucketPath())));
+        }
+        assertThat(imageRepository.findById(current.getImageId()).orElseThrow().getS3BucketPath()).isEqualTo(currentKey);
+        verify(s3Client, never()).copyObject(argThat((CopyObjectRequest request) -> request.sourceKey().equals(currentKey)));
+
+        // 重新執行不會再搬移
+        assertThat(migrator.migrateAll().migrated()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave the row unchanged when the copy fails")
+    void shouldKeepRowWhenCopyFails() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        UUID userId = UUID.fromString(userData.userId());
+        UUID productId = UUID.fromString(createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1));
+        String legacyKey = userId + "/" + productId + "/1700000000000-broken.png";
+        Image image = saveImage(productId, "broken.png", legacyKey);
+
+        when(s3Client.copyObject(any(CopyObjectRequest.class))).thenThrow(S3Exception.builder()
+                .message("SlowDown")
+                .awsErrorDetails(AwsErrorDetails.builder().errorMessage("SlowDown").build())
+                .build());
+
+        S3KeyMigrator.MigrationResult result = migrator.migrateAll();
+
+        assertThat(result.failed()).isGreaterThanOrEqualTo(1);
+        assertThat(imageRepository.findById(image.getImageId()).orElseThrow().getS3BucketPath()).isEqualTo(legacyKey);
+        verify(s3Client, never()).deleteObject(argThat((DeleteObjectRequest request) -> request.key().equals(legacyKey)));
+    }
+
+    @Test
+    @DisplayName("Should remove the copied object when the image is deleted during migration")
+    void shouldRemoveCopyWhenImageDeletedDuringMigration() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        UUID userId = UUID.fromString(userData.userId());
+        UUID productId = UUID.fromString(createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1));
+        String legacyKey = userId + "/" + productId + "/1700000000000-deleted.png";
+        Image image = saveImage(productId, "deleted.png", legacyKey);
+
+        // 複製進行中，使用者透過 API 刪除圖片
+        when(s3Client.copyObject(argThat((CopyObjectRequest request) -> request != null && request.sourceKey().equals(legacyKey))))
+                .thenAnswer(invocation -> {
+                    given()
+                            .header("Authorization", userData.authHeader())
+                            .when().delete(PRODUCT_ENDPOINT + "/" + productId + "/image/" + image.getImageId())
+                            .then()
+                            .statusCode(HttpStatus.NO_CONTENT.value());
+                    return CopyObjectResponse.builder().build();
+                });
+
+        migrator.migrateAll();
+
+        assertThat(imageRepository.findById(image.getImageId())).isEmpty();
+        verify(s3Client).deleteObject(argThat((DeleteObjectRequest request) -> request.key().equals(legacyKey)));
+        verify(s3Client).deleteObject(argThat((DeleteObjectRequest request) -> !request.key().equals(legacyKey)
+                && request.key().contains(userId + "/" + productId + "/") && request.key().endsWith("-deleted.png")));
+    }
+
+    private Image saveImage(UUID productId, String fileName, String s3Key) {
+        return imageRepository.save(Image.builder()
+                .product(productRepository.getReferenceById(productId))
+                .fileName(fileName)
+                .s3BucketPath(s3Key)
+                .build());
+    }
+}
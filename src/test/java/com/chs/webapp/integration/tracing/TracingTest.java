@@ -0,0 +1,133 @@
+package com.chs.webapp.integration.tracing;
+
+import com.chs.webapp.integration.BaseIntegrationTest;
+import com.chs.webapp.integration.UserTestData;
+import com.chs.webapp.tracing.S3ObservationInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.TestPropertySource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tracing Tests")
+@AutoConfigureObservability(metrics = false)
+@TestPropertySource(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "aws.s3.bucket-name=test-bucket"
+})
+public class TracingTest extends BaseIntegrationTest {
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeEach
+    void resetSpans() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    @Test
+    @DisplayName("Should trace image upload across security, repositories and S3")
+    void shouldTraceImageUpload() {
+        UserTestData userData = createUserAndGetData(generateUniqueEmail(), "Pass123!", "John", "Doe");
+        String productId = createTestProduct(userData.authHeader(), generateUniqueSku(), "Product", "Desc", "Maker", 1);
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+
+        uploadImage(userData.authHeader(), productId);
+
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        List<String> names = spans.stream().map(SpanData::getName).toList();
+
+        assertThat(names).anyMatch(name -> name.startsWith("http post"));
+        assertThat(names).anyMatch(name -> name.startsWith("security filterchain"));
+        assertThat(names).contains("product-repository exists-by-id-and-owner-id", "image-repository save", "s3 put-object");
+
+        // 所有 span 屬於同一個 trace
+        assertThat(spans).extracting(SpanData::getTraceId).containsOnly(spans.get(0).getTraceId());
+    }
+
+    @TestConfiguration
+    static class TracingTestConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+
+        /**
+         * 以回應 200 的 HTTP client 取代 S3，保留 SDK 的 interceptor 流程
+         */
+        @Bean
+        @Primary
+        S3Client testS3Client(ObjectProvider<ObservationRegistry> observationRegistry) {
+            return S3Client.builder()
+                    .region(Region.US_EAST_1)
+                    .endpointOverride(URI.create("http://localhost:1"))
+                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                    .serviceConfiguration(S3Configuration.builder()
+                            .pathStyleAccessEnabled(true)
+                            .checksumValidationEnabled(false)
+                            .build())
+                    .httpClient(new AlwaysOkHttpClient())
+                    .overrideConfiguration(config -> config.addExecutionInterceptor(
+                            new S3ObservationInterceptor(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))))
+                    .build();
+        }
+    }
+
+    private static class AlwaysOkHttpClient implements SdkHttpClient {
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() {
+                    return HttpExecuteResponse.builder()
+                            .response(SdkHttpResponse.builder().statusCode(200).build())
+                            .responseBody(AbortableInputStream.create(new ByteArrayInputStream(new byte[0])))
+                            .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.chs.webapp.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Rate Limiter Tests")
+// 不需要 Spring context，直接以設定建立
+public class RateLimiterTest {
+
+    @Test
+    @DisplayName("Should spread new keys over overflow stripes once tracked keys are full")
+    void shouldStripeOverflowKeys() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxTrackedKeys(1);
+        properties.setOverflowStripes(64);
+        properties.setAuth(new RateLimitProperties.Budget(0.01, 1));
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        assertThat(rateLimiter.tryAcquire(RateLimitClass.AUTH, "ip:tracked")).isZero();
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+
+        // 超過上限後的 key 不再追蹤，但不會全部共用同一個 bucket
+        int allowed = 0;
+        for (int i = 0; i < 64; i++) {
+            if (rateLimiter.tryAcquire(RateLimitClass.AUTH, "ip:rotating-" + i) == 0) {
+                allowed++;
+            }
+        }
+
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+        assertThat(allowed).isGreaterThan(1).isLessThan(64);
+    }
+}
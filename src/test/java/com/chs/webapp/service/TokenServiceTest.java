@@ -0,0 +1,47 @@
+package com.chs.webapp.service;
+
+import com.chs.webapp.security.TokenProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Token Service Secret Tests")
+// 不需要 Spring context，只檢查建構時的金鑰設定
+public class TokenServiceTest {
+
+    @Test
+    @DisplayName("Should refuse to start without a secret outside dev and test profiles")
+    void shouldRequireSecretOutsideDevAndTest() {
+        MockEnvironment environment = new MockEnvironment();
+
+        assertThatThrownBy(() -> newTokenService(new TokenProperties(), environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("auth.token.secret");
+    }
+
+    @Test
+    @DisplayName("Should use a random secret with the test profile")
+    void shouldAllowRandomSecretInTestProfile() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+
+        assertThatCode(() -> newTokenService(new TokenProperties(), environment)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should accept a configured secret in any profile")
+    void shouldAcceptConfiguredSecret() {
+        TokenProperties properties = new TokenProperties();
+        properties.setSecret("0123456789abcdef0123456789abcdef");
+
+        assertThatCode(() -> newTokenService(properties, new MockEnvironment())).doesNotThrowAnyException();
+    }
+
+    private static TokenService newTokenService(TokenProperties properties, MockEnvironment environment) {
+        return new TokenService(new ObjectMapper(), properties, null, null, null, null, environment);
+    }
+}
@@ -0,0 +1,69 @@
+package com.chs.webapp.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("S3 Key Strategy Tests")
+// 不需要 Spring context，使用預設設定
+public class S3KeyStrategyTest {
+
+    private final S3KeyStrategy keyStrategy = new S3KeyStrategy(new S3KeyProperties());
+
+    @Test
+    @DisplayName("Should build sharded keys that keep the owner and product")
+    void shouldBuildShardedOwnerKeys() {
+        UUID userId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        String key = keyStrategy.newImageKey(userId, productId, "photo.png");
+
+        assertThat(key).matches("[0-9a-f]{2}/" + userId + "/" + productId + "/[0-9a-f-]{36}-photo\\.png");
+        assertThat(keyStrategy.isCurrentLayout(key)).isTrue();
+        assertThat(keyStrategy.isCurrentLayout(userId + "/" + productId + "/1700000000000-photo.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give the same file unique keys spread across shard prefixes")
+    void shouldSpreadOneSellerAcrossPrefixes() {
+        UUID userId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        Set<String> keys = new HashSet<>();
+        Set<String> prefixes = new HashSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            String key = keyStrategy.newImageKey(userId, productId, "photo.png");
+            keys.add(key);
+            prefixes.add(key.substring(0, key.indexOf('/')));
+        }
+
+        assertThat(keys).hasSize(2_000);
+        // 256 個前綴中，2000 個 key 應該幾乎全部用到
+        assertThat(prefixes.size()).isGreaterThan(240);
+    }
+
+    @Test
+    @DisplayName("Should sanitize client file names")
+    void shouldSanitizeFileNames() {
+        assertThat(keyStrategy.sanitizeFileName("My Photo (1).PNG")).isEqualTo("My-Photo-1.png");
+        assertThat(keyStrategy.sanitizeFileName("C:\\Users\\me\\Desktop\\café.jpg")).isEqualTo("cafe.jpg");
+        assertThat(keyStrategy.sanitizeFileName("../../etc/passwd")).isEqualTo("passwd");
+        assertThat(keyStrategy.sanitizeFileName("商品圖片.jpeg")).isEqualTo("file.jpeg");
+        assertThat(keyStrategy.sanitizeFileName("%2e%2e%2fx?.png")).isEqualTo("2e-2e-2fx.png");
+        assertThat(keyStrategy.sanitizeFileName(null)).isEqualTo("file");
+        assertThat(keyStrategy.sanitizeFileName(".png")).isEqualTo("png");
+    }
+
+    @Test
+    @DisplayName("Should bound file name length and keep the extension")
+    void shouldBoundFileNameLength() {
+        String sanitized = keyStrategy.sanitizeFileName("a".repeat(500) + ".jpg");
+
+        assertThat(sanitized).hasSize(64).endsWith(".jpg");
+    }
+}